@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.github.tommyettinger.AliasAtlas;
+import com.github.tommyettinger.AtlasIndex;
+import com.github.tommyettinger.PerfectNameHash;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times reading each size of atlas in the forms the assembler writes: the full .atlas text, the deduplicated .atlas
+ * text (without its alias table), the binary {@link AtlasIndex}, and the {@link PerfectNameHash}. None of these load
+ * page images, so only parsing is measured. The AtlasIndex is read onto the heap rather than memory-mapped, because
+ * thousands of mappings per second outrun the garbage collector that frees them; one mapping per process is the
+ * intended use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtlasParseBenchmark {
+    @Param({"small", "mid", "large"})
+    public String size;
+
+    FileHandle full;
+    FileHandle deduped;
+    FileHandle index;
+    FileHandle nameHash;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        full = BenchmarkData.atlas(size);
+        deduped = full.sibling("noto-emoji" + AliasAtlas.SUFFIX + ".atlas");
+        index = full.sibling("noto-emoji" + AtlasIndex.EXTENSION);
+        // Not committed, since it is cheap to build from the atlas; saved to a temporary file, not the atlas folder.
+        nameHash = Gdx.files.absolute(Files.createTempFile("noto-emoji", PerfectNameHash.EXTENSION).toString());
+        PerfectNameHash.build(new TextureAtlasData(full, full.parent(), false)).save(nameHash);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        nameHash.delete();
+    }
+
+    @Benchmark
+    public TextureAtlasData parseFull() {
+        return new TextureAtlasData(full, full.parent(), false);
+    }
+
+    @Benchmark
+    public TextureAtlasData parseDeduped() {
+        return new TextureAtlasData(deduped, deduped.parent(), false);
+    }
+
+    @Benchmark
+    public AtlasIndex loadIndex() {
+        return new AtlasIndex(ByteBuffer.wrap(index.readBytes()));
+    }
+
+    @Benchmark
+    public PerfectNameHash loadNameHash() {
+        return PerfectNameHash.load(nameHash);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Json;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Loads the same data files the assembler uses, for benchmarks to share. Everything is relative to the assets folder,
+ * which the {@code jmh} task uses as its working directory.
+ */
+final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    /** Sets up {@link Gdx#files} without starting an application, if nothing has yet. */
+    static void init() {
+        if (Gdx.files == null) Gdx.files = new HeadlessFiles();
+    }
+
+    @SuppressWarnings("unchecked")
+    static LinkedHashMap<String, String> stringMap(String name) {
+        init();
+        return new Json().fromJson(LinkedHashMap.class, String.class, Gdx.files.internal(name));
+    }
+
+    @SuppressWarnings("unchecked")
+    static LinkedHashMap<String, String[]> arrayMap(String name) {
+        init();
+        return new Json().fromJson(LinkedHashMap.class, String[].class, Gdx.files.internal(name));
+    }
+
+    /**
+     * @param size {@code small}, {@code mid}, or {@code large}
+     * @return the full atlas of that size
+     */
+    static FileHandle atlas(String size) {
+        init();
+        return Gdx.files.local("../../atlas-" + size + "-color/noto-emoji.atlas");
+    }
+}
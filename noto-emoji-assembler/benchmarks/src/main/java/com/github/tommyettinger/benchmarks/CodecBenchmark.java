@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.github.tommyettinger.Main;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the string conversions in {@link Main}, each over every emoji the assembler knows, so one operation is one
+ * full pass like a mode would make.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+    /** Every emoji, with any FE0F it has. */
+    String[] emoji;
+    /** Every codename with FE0F, as in names-cldr-raw.json. */
+    String[] codenames;
+    /** Every description in emoji_15_1.json, which MODIFY_JSON removes accents from. */
+    String[] descriptions;
+
+    @Setup
+    public void setup() {
+        LinkedHashMap<String, String> strippedToEmoji = BenchmarkData.stringMap("stripped-to-emoji.json");
+        emoji = strippedToEmoji.values().toArray(new String[0]);
+        codenames = new String[emoji.length];
+        for (int i = 0; i < emoji.length; i++) {
+            codenames[i] = Main.emojiToCodePoints(emoji[i]);
+        }
+        ArrayList<String> list = new ArrayList<>(4096);
+        JsonValue json = new JsonReader().parse(Gdx.files.internal("emoji_15_1.json"));
+        for (JsonValue entry = json.child; entry != null; entry = entry.next) {
+            list.add(entry.getString("description"));
+        }
+        descriptions = list.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void emojiToCodePoints(Blackhole bh) {
+        for (String e : emoji) {
+            bh.consume(Main.emojiToCodePoints(e));
+        }
+    }
+
+    @Benchmark
+    public void codePointsToEmoji(Blackhole bh) {
+        for (String c : codenames) {
+            bh.consume(Main.codePointsToEmoji(c));
+        }
+    }
+
+    @Benchmark
+    public void stripFE0F(Blackhole bh) {
+        for (String c : codenames) {
+            bh.consume(Main.stripFE0F(c));
+        }
+    }
+
+    @Benchmark
+    public void removeAccents(Blackhole bh) {
+        for (String d : descriptions) {
+            bh.consume(Main.removeAccents(d));
+        }
+    }
+}
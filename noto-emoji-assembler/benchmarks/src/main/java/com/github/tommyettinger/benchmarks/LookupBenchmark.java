@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.tommyettinger.AtlasIndex;
+import com.github.tommyettinger.PerfectNameHash;
+import com.github.tommyettinger.ZwjNames;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the lookups made while renaming emoji (ZWJ names, CLDR names, and aliases by codename) and while finding
+ * regions by name in the large atlas, comparing an ObjectMap like TextureAtlas uses to {@link AtlasIndex} and
+ * {@link PerfectNameHash}. Each operation looks up every key once.
+ * <br>
+ * The region lookups find names the way a text renderer does, as it reads {@code :name:} shortcodes out of a string:
+ * every name is written once into one long text, and each operation finds them all in that text. The ObjectMap needs
+ * a new substring for each, which has to be hashed and compared char by char, as any String just cut from text does;
+ * AtlasIndex and PerfectNameHash read the chars from the text without making a substring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+    String[] emoji;
+    String[] codenames;
+    LinkedHashMap<String, String> knownMap;
+    LinkedHashMap<String, String[]> aliasMap;
+    ZwjNames zwjNames;
+
+    String regionText;
+    int[] regionStarts;
+    Slice slice = new Slice();
+    ObjectMap<String, Region> regionMap;
+    AtlasIndex index;
+    PerfectNameHash nameHash;
+
+    @Setup
+    public void setup() {
+        LinkedHashMap<String, String> strippedToEmoji = BenchmarkData.stringMap("stripped-to-emoji.json");
+        codenames = strippedToEmoji.keySet().toArray(new String[0]);
+        emoji = strippedToEmoji.values().toArray(new String[0]);
+        knownMap = BenchmarkData.stringMap("names-cldr.json");
+        aliasMap = BenchmarkData.arrayMap("aliases.json");
+        zwjNames = ZwjNames.instance();
+
+        TextureAtlasData data = new TextureAtlasData(BenchmarkData.atlas("large"), BenchmarkData.atlas("large").parent(), false);
+        Array<Region> regions = data.getRegions();
+        regionMap = new ObjectMap<>(regions.size);
+        regionStarts = new int[regions.size + 1];
+        java.lang.StringBuilder text = new java.lang.StringBuilder(regions.size * 24);
+        for (int i = 0; i < regions.size; i++) {
+            regionMap.put(regions.get(i).name, regions.get(i));
+            regionStarts[i] = text.length() + 1;
+            text.append(':').append(regions.get(i).name).append(": ");
+        }
+        regionStarts[regions.size] = text.length() + 1;
+        regionText = text.toString();
+        index = AtlasIndex.load(BenchmarkData.atlas("large").sibling("noto-emoji" + AtlasIndex.EXTENSION));
+        nameHash = PerfectNameHash.build(data);
+    }
+
+    @Benchmark
+    public void zwjName(Blackhole bh) {
+        for (String e : emoji) {
+            bh.consume(zwjNames.get(e));
+        }
+    }
+
+    @Benchmark
+    public void cldrName(Blackhole bh) {
+        for (String c : codenames) {
+            bh.consume(knownMap.get(c));
+        }
+    }
+
+    @Benchmark
+    public void alias(Blackhole bh) {
+        for (String c : codenames) {
+            bh.consume(aliasMap.get(c));
+        }
+    }
+
+    @Benchmark
+    public void regionObjectMap(Blackhole bh) {
+        for (int i = 0, n = regionStarts.length - 1; i < n; i++) {
+            bh.consume(regionMap.get(regionText.substring(regionStarts[i], regionStarts[i + 1] - 3)));
+        }
+    }
+
+    @Benchmark
+    public void regionAtlasIndex(Blackhole bh) {
+        for (int i = 0, n = regionStarts.length - 1; i < n; i++) {
+            bh.consume(index.findRegion(slice.set(regionText, regionStarts[i], regionStarts[i + 1] - 3)));
+        }
+    }
+
+    @Benchmark
+    public void regionPerfectHash(Blackhole bh) {
+        for (int i = 0, n = regionStarts.length - 1; i < n; i++) {
+            bh.consume(nameHash.get(regionText, regionStarts[i], regionStarts[i + 1] - 3));
+        }
+    }
+
+    /** A reusable view of part of a String, for lookups that only take a whole CharSequence. */
+    static final class Slice implements CharSequence {
+        String text;
+        int start, end;
+
+        Slice set(String text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return text.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.substring(this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            return text.substring(start, end);
+        }
+    }
+}
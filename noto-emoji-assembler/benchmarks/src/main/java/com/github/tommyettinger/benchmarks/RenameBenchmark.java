@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.github.tommyettinger.EmojiRenamer;
+import com.github.tommyettinger.OutputMode;
+import com.github.tommyettinger.ZwjNames;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the renaming loop of the EMOJI_SMALL mode against a temporary copy of the 24x24 raw images, both from an empty
+ * output folder and as a rerun where every output is already up-to-date. Each operation renames every image once.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RenameBenchmark {
+    @Param({"COPY", "HARD_LINK"})
+    public OutputMode outputMode;
+
+    FileHandle temp;
+    FileHandle rawDir;
+    FileHandle renamedDir;
+    EmojiRenamer renamer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkData.init();
+        temp = Gdx.files.absolute(Files.createTempDirectory("rename-benchmark").toString());
+        // Copying a folder into an existing one puts it inside, under its own name.
+        Gdx.files.local("../../" + EmojiRenamer.Size.SMALL.rawDir + "/").copyTo(temp);
+        rawDir = temp.child(EmojiRenamer.Size.SMALL.rawDir);
+        renamedDir = temp.child("renamed");
+        renamer = new EmojiRenamer(BenchmarkData.stringMap("stripped-to-emoji.json"),
+                BenchmarkData.stringMap("names-cldr.json"), BenchmarkData.arrayMap("aliases.json"), ZwjNames.instance());
+        renamer.outputMode = outputMode;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        temp.deleteDirectory();
+    }
+
+    /** Every run of {@link #fresh()} starts with nothing in the output folder. */
+    @State(Scope.Benchmark)
+    public static class Empty {
+        @Setup(Level.Invocation)
+        public void clear(RenameBenchmark benchmark) {
+            benchmark.renamedDir.deleteDirectory();
+        }
+    }
+
+    /** Every run of {@link #rerun()} starts with every output and the manifest already written. */
+    @State(Scope.Benchmark)
+    public static class Filled {
+        @Setup(Level.Trial)
+        public void fill(RenameBenchmark benchmark) {
+            benchmark.renamedDir.deleteDirectory();
+            benchmark.renamer.rename(benchmark.rawDir, benchmark.renamedDir);
+        }
+    }
+
+    @Benchmark
+    public void fresh(Empty empty) {
+        renamer.rename(rawDir, renamedDir);
+    }
+
+    @Benchmark
+    public void rerun(Filled filled) {
+        renamer.rename(rawDir, renamedDir);
+    }
+}
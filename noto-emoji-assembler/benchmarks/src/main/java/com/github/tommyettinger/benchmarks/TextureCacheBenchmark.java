@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.tommyettinger.AtlasPacker;
+import com.github.tommyettinger.EmojiRenamer;
+import com.github.tommyettinger.Main;
+import com.github.tommyettinger.OrderedAtlas;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates a GPU texture cache while an emoji picker scrolls through every emoji, to compare the layout TexturePacker
+ * gives each atlas ({@code packed}) with the same atlas laid out again in picker order by {@link OrderedAtlas}
+ * ({@code ordered}). The picker shows 8 columns by 6 rows of emoji in category order and scrolls one row per frame;
+ * each frame samples every texel of every visible emoji, at the given mip level, through a 64 KiB, 4-way
+ * set-associative LRU cache of 4x4-texel tiles (64 bytes each in RGBA8888), which stays warm from frame to frame.
+ * <br>
+ * The scores to compare are the {@code fetches} counter, the tiles that had to be loaded into the cache, divided by the
+ * {@code frames} counter; JMH reports both as totals over every measured operation. {@code samples} counts the texels
+ * sampled, which barely differs between layouts. The time per operation only measures the simulation. Only the .atlas
+ * files are read, so this needs no page images.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextureCacheBenchmark {
+    private static final int COLUMNS = 8, ROWS = 6, CACHE_BYTES = 64 * 1024, TILE_BYTES = 64, WAYS = 4;
+
+    @Param({"small", "mid", "large"})
+    public String size;
+
+    @Param({"packed", "ordered"})
+    public String layout;
+
+    /** 0 samples each emoji at the size it has in the atlas; 2 samples at a quarter of that, as mipmapped icons do. */
+    @Param({"0", "2"})
+    public int mipLevel;
+
+    /** Each visible emoji's page, left, top, width, and height, in picker order. */
+    int[] cells;
+    long[] tags;
+    int setShift;
+
+    /** Counts reported beside the time, as totals over every measured operation. */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long fetches;
+        public long samples;
+        public long frames;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            fetches = samples = frames = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        FileHandle atlasFile = BenchmarkData.atlas(size);
+        TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+        ArrayList<EmojiRenamer.Entry> entries = pickerOrder();
+        if ("ordered".equals(layout)) {
+            AtlasPacker packer = new AtlasPacker(EmojiRenamer.Size.valueOf(size.toUpperCase()).project());
+            OrderedAtlas.arrange(data, packer.settings, OrderedAtlas.rank(entries));
+        }
+        ObjectMap<String, Region> regions = new ObjectMap<>(data.getRegions().size);
+        for (Region region : data.getRegions()) {
+            if (!regions.containsKey(region.name)) regions.put(region.name, region);
+        }
+        int[] cells = new int[entries.size() * 5];
+        int c = 0;
+        for (EmojiRenamer.Entry entry : entries) {
+            Region region = regions.get(entry.name);
+            if (region == null) continue;
+            cells[c++] = data.getPages().indexOf(region.page, true);
+            cells[c++] = region.left;
+            cells[c++] = region.top;
+            cells[c++] = region.width;
+            cells[c++] = region.height;
+        }
+        this.cells = Arrays.copyOf(cells, c);
+        tags = new long[CACHE_BYTES / TILE_BYTES];
+        setShift = 64 - Integer.numberOfTrailingZeros(tags.length / WAYS);
+    }
+
+    /** The order the assembler's PACK_ATLAS stage lays atlases out in; see {@link Main#pickerOrder}. */
+    static ArrayList<EmojiRenamer.Entry> pickerOrder() {
+        return Main.pickerOrder(BenchmarkData.stringMap("stripped-to-emoji.json"),
+                BenchmarkData.stringMap("names-cldr.json"), BenchmarkData.arrayMap("aliases.json"),
+                Main.categories(new JsonReader().parse(Gdx.files.internal(Main.JSON))));
+    }
+
+    @Benchmark
+    public long scrollPicker(Counters counters) {
+        Arrays.fill(tags, -1L);
+        long fetches = 0, samples = 0;
+        int frames = 0;
+        for (int top = 0; top < cells.length; top += COLUMNS * 5, frames++) {
+            for (int c = top, end = Math.min(cells.length, top + COLUMNS * ROWS * 5); c < end; c += 5) {
+                long page = (long) cells[c] << 40;
+                int x0 = cells[c + 1] >> mipLevel, y0 = cells[c + 2] >> mipLevel;
+                int x1 = cells[c + 1] + cells[c + 3] - 1 >> mipLevel, y1 = cells[c + 2] + cells[c + 4] - 1 >> mipLevel;
+                for (int y = y0; y <= y1; y++) {
+                    for (int x = x0; x <= x1; x++) {
+                        fetches += fetch(page | (long) (y >> 2) << 20 | x >> 2);
+                    }
+                }
+                samples += (long) (x1 - x0 + 1) * (y1 - y0 + 1);
+            }
+        }
+        counters.fetches += fetches;
+        counters.samples += samples;
+        counters.frames += frames;
+        return fetches;
+    }
+
+    /** Looks up a tile in the cache, returning 1 if it had to be fetched or 0 if it was already there. */
+    private int fetch(long tile) {
+        int base = (int) (tile * 0x9E3779B97F4A7C15L >>> setShift) * WAYS;
+        int way = 0;
+        while (way < WAYS - 1 && tags[base + way] != tile) way++;
+        int missed = tags[base + way] == tile ? 0 : 1;
+        // Move this tile to the front of its set; on a miss, the least recently used tile falls off the end.
+        System.arraycopy(tags, base, tags, base + 1, way);
+        tags[base] = tile;
+        return missed;
+    }
+}
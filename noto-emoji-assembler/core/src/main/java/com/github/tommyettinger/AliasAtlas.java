@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * A TextureAtlas loaded from a deduplicated atlas, where each distinct image is listed once, plus an alias table that
+ * gives every other name that image should be found by. The finished atlas answers {@link #findRegion(String)} for
+ * every name and alias, just like the full atlas would, but the .atlas file it parses is about a third the size.
+ * <br>
+ * {@link #deduplicate(FileHandle)} makes the two files from a full atlas, such as the ones {@link AtlasPacker} writes.
+ * The alias table is a UTF-8 text file with one line per region that has aliases: the region's name in the deduplicated
+ * atlas, then each alias, all separated by tabs.
+ */
+public class AliasAtlas extends TextureAtlas {
+    /** Added to the atlas name (before the extension) for the deduplicated atlas and its alias table. */
+    public static final String SUFFIX = "-deduped";
+    public static final String ALIAS_EXTENSION = ".aliases";
+
+    /**
+     * Loads a deduplicated atlas and the alias table beside it, which must have the same name with the extension
+     * {@link #ALIAS_EXTENSION}.
+     *
+     * @param packFile a deduplicated .atlas file, such as {@code noto-emoji-deduped.atlas}
+     */
+    public AliasAtlas(FileHandle packFile) {
+        this(packFile, packFile.sibling(packFile.nameWithoutExtension() + ALIAS_EXTENSION));
+    }
+
+    /**
+     * Loads a deduplicated atlas and then adds every alias in aliasFile as another region.
+     *
+     * @param packFile  a deduplicated .atlas file
+     * @param aliasFile its alias table
+     */
+    public AliasAtlas(FileHandle packFile, FileHandle aliasFile) {
+        super(packFile);
+        addAliases(aliasFile);
+    }
+
+    /**
+     * Adds a copy of a region for every alias listed in aliasFile. Each copy shares its texture and bounds with the
+     * region it aliases, and differs only in name. Lines naming a region this atlas doesn't have are skipped.
+     *
+     * @param aliasFile an alias table, as written by {@link #deduplicate(FileHandle)}
+     */
+    public void addAliases(FileHandle aliasFile) {
+        Array<AtlasRegion> regions = getRegions();
+        ObjectMap<String, AtlasRegion> byName = new ObjectMap<>(regions.size);
+        for (AtlasRegion region : regions) {
+            byName.put(region.name, region);
+        }
+        try (BufferedReader reader = aliasFile.reader(1 << 14, "UTF8")) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab < 0) continue;
+                AtlasRegion original = byName.get(line.substring(0, tab));
+                if (original == null) continue;
+                for (int start = tab + 1; start <= line.length(); ) {
+                    int end = line.indexOf('\t', start);
+                    if (end < 0) end = line.length();
+                    if (end > start) {
+                        AtlasRegion alias = new AtlasRegion(original);
+                        alias.name = line.substring(start, end);
+                        regions.add(alias);
+                    }
+                    start = end + 1;
+                }
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read aliases from " + aliasFile, e);
+        }
+    }
+
+    /**
+     * Writes a deduplicated copy of a full atlas beside it, along with its alias table. Regions are the same image if
+     * they are on the same page with the same bounds, offsets, rotation, and index; the first such region in the
+     * full atlas keeps its entry, and the rest become its aliases.
+     *
+     * @param atlasFile a full .atlas file, such as {@code atlas-mid-color/noto-emoji.atlas}
+     * @return the deduplicated .atlas file that was written
+     */
+    public static FileHandle deduplicate(FileHandle atlasFile) {
+        TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+        Array<Region> regions = data.getRegions();
+        Array<Region> unique = new Array<>(false, regions.size >> 1, Region.class);
+        ObjectMap<RegionKey, Array<String>> aliases = new ObjectMap<>(regions.size);
+        for (Region region : regions) {
+            RegionKey key = new RegionKey(region);
+            Array<String> names = aliases.get(key);
+            if (names == null) {
+                aliases.put(key, new Array<>(String.class));
+                unique.add(region);
+            } else {
+                names.add(region.name);
+            }
+        }
+        FileHandle outAtlas = atlasFile.sibling(atlasFile.nameWithoutExtension() + SUFFIX + "." + atlasFile.extension());
+        FileHandle outAliases = atlasFile.sibling(atlasFile.nameWithoutExtension() + SUFFIX + ALIAS_EXTENSION);
+        AtlasWriter.write(data.getPages(), unique, outAtlas);
+        try (Writer writer = outAliases.writer(false, "UTF8")) {
+            for (Region region : unique) {
+                Array<String> names = aliases.get(new RegionKey(region));
+                if (names.isEmpty()) continue;
+                writer.write(region.name);
+                for (String name : names) {
+                    writer.write('\t');
+                    writer.write(name);
+                }
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write aliases to " + outAliases, e);
+        }
+        System.out.println("Deduplicated " + atlasFile.path() + " from " + regions.size + " to " + unique.size + " regions.");
+        return outAtlas;
+    }
+
+    /** Everything that has to match for two atlas regions to show the same image. */
+    static final class RegionKey {
+        private final Object page;
+        private final int[] values;
+
+        RegionKey(Region region) {
+            page = region.page;
+            values = new int[]{region.left, region.top, region.width, region.height, (int) region.offsetX,
+                    (int) region.offsetY, region.originalWidth, region.originalHeight, region.degrees, region.index};
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RegionKey)) return false;
+            RegionKey other = (RegionKey) o;
+            return page == other.page && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(page) * 31 + Arrays.hashCode(values);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.github.tommyettinger.anim8.Dithered;
+import com.github.tommyettinger.anim8.PNG8;
+import com.github.tommyettinger.anim8.QualityPalette;
+
+import java.util.ArrayList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes a copy of every atlas page reduced to each palette in a folder of palette images, for the ALTERNATE_PALETTES
+ * mode. Every atlas page is decoded once and only read after that, and every palette is analyzed once; then each
+ * (palette, page) pair is its own job, with its own {@link PNG8} and {@link QualityPalette}, since neither is safe to
+ * share between threads.
+ * <br>
+ * Each palette {@code alt-palette/NAME.png} gets a folder {@code alt-palette/NAME/} holding one folder per atlas, with
+ * that atlas' .atlas, alias, and index files copied in beside the reduced pages.
+ */
+public class AlternatePalettes {
+    /** The folder of palette images; every PNG in it is one palette. */
+    public final FileHandle paletteDir;
+    /** The full .atlas files whose pages get reduced. */
+    public final FileHandle[] atlasFiles;
+    /** How many jobs can run at once; defaults to the number of cores. */
+    public int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param paletteDir a folder of palette images, such as {@code alt-palette/}
+     * @param atlasFiles full .atlas files, such as {@code atlas-mid-color/noto-emoji.atlas}
+     */
+    public AlternatePalettes(FileHandle paletteDir, FileHandle... atlasFiles) {
+        this.paletteDir = paletteDir;
+        this.atlasFiles = atlasFiles;
+    }
+
+    /** A palette image's colors, and the mapping from any color to the nearest of those, computed once. */
+    private static final class Palette {
+        final String name;
+        final int[] colors;
+        final byte[] mapping;
+
+        Palette(FileHandle image) {
+            name = image.nameWithoutExtension();
+            Pixmap pm = new Pixmap(image);
+            colors = QualityPalette.colorsFrom(pm);
+            pm.dispose();
+            mapping = new QualityPalette(colors).paletteMapping;
+        }
+    }
+
+    /**
+     * Finds the files beside each atlas that only refer to pages this reduces, so they are still right next to the
+     * reduced pages: the atlas and its index, and any other .atlas file (with its alias table) that uses no other pages.
+     * Other atlases, such as the ETC2 and RGBA4444 ones, have pages this doesn't write, and other files, such as the
+     * search indexes, don't depend on the palette, so neither is copied.
+     */
+    private ArrayList<FileHandle> describing(ArrayList<Page> pages) {
+        ArrayList<FileHandle> files = new ArrayList<>();
+        for (FileHandle atlasFile : atlasFiles) {
+            FileHandle index = atlasFile.sibling(atlasFile.nameWithoutExtension() + AtlasIndex.EXTENSION);
+            if (index.exists()) files.add(index);
+            for (FileHandle other : atlasFile.parent().list(".atlas")) {
+                boolean reduced = true;
+                for (Page page : new TextureAtlasData(other, other.parent(), false).getPages()) {
+                    boolean found = false;
+                    for (Page p : pages) {
+                        found |= p.textureFile.equals(page.textureFile);
+                    }
+                    reduced &= found;
+                }
+                if (!reduced) continue;
+                files.add(other);
+                FileHandle aliases = other.sibling(other.nameWithoutExtension() + AliasAtlas.ALIAS_EXTENSION);
+                if (aliases.exists()) files.add(aliases);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Writes every palette's version of every page, then waits for all of them to finish.
+     */
+    public void run() {
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        Array<Pixmap> pixmaps = new Array<>(Pixmap.class);
+        try {
+            FileHandle[] paletteImages = paletteDir.list(".png");
+            ArrayList<Future<Palette>> paletteJobs = new ArrayList<>(paletteImages.length);
+            for (FileHandle image : paletteImages) {
+                paletteJobs.add(executor.submit(() -> new Palette(image)));
+            }
+            ArrayList<Page> pages = new ArrayList<>();
+            ArrayList<Future<Pixmap>> pageJobs = new ArrayList<>();
+            for (FileHandle atlasFile : atlasFiles) {
+                TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+                for (Page page : data.getPages()) {
+                    pages.add(page);
+                    pageJobs.add(executor.submit(() -> new Pixmap(page.textureFile)));
+                }
+            }
+            for (Future<Pixmap> f : pageJobs) {
+                pixmaps.add(f.get());
+            }
+            ArrayList<FileHandle> describing = describing(pages);
+
+            int total = paletteJobs.size() * pages.size();
+            AtomicInteger done = new AtomicInteger();
+            ArrayList<Future<?>> writeJobs = new ArrayList<>(total);
+            for (Future<Palette> f : paletteJobs) {
+                Palette palette = f.get();
+                FileHandle current = paletteDir.child(palette.name);
+                for (FileHandle atlasFile : atlasFiles) {
+                    FileHandle dir = current.child(atlasFile.parent().name());
+                    dir.mkdirs();
+                    for (FileHandle file : describing) {
+                        if (file.parent().equals(atlasFile.parent())) file.copyTo(dir);
+                    }
+                }
+                for (int i = 0; i < pages.size(); i++) {
+                    FileHandle pageFile = pages.get(i).textureFile;
+                    Pixmap pixmap = pixmaps.get(i);
+                    FileHandle out = current.child(pageFile.parent().name()).child(pageFile.name());
+                    writeJobs.add(executor.submit(() -> {
+                        long jobStart = System.currentTimeMillis();
+                        PNG8 png = new PNG8();
+                        png.setCompression(7);
+                        png.setFlipY(false);
+                        png.setDitherAlgorithm(Dithered.DitherAlgorithm.NONE);
+                        png.setDitherStrength(1f);
+                        png.setPalette(new QualityPalette(palette.colors, palette.mapping));
+                        png.write(out, pixmap, false, true);
+                        System.out.println("Wrote " + palette.name + "/" + pageFile.parent().name() + "/" + pageFile.name()
+                                + " (" + done.incrementAndGet() + " of " + total + ") in "
+                                + (System.currentTimeMillis() - jobStart) + " ms.");
+                    }));
+                }
+            }
+            for (Future<?> f : writeJobs) {
+                f.get();
+            }
+            System.out.println("Wrote " + total + " palette-reduced pages in " + (System.currentTimeMillis() - start) + " ms.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException(e.getCause());
+        } finally {
+            // Stop anything still queued after a failure, and let running jobs finish before their pages are freed.
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (Pixmap pixmap : pixmaps) {
+                pixmap.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The data files that {@link Pipeline} stages read and write, kept in memory for the rest of the run once any stage
+ * has made or loaded them. Each artifact is named by its file in the assets folder, such as
+ * {@code stripped-to-emoji.json}; a stage that writes one also puts it here, so later stages in the same run skip
+ * reading and parsing it again. Anything not put here yet is loaded from its file the first time it is asked for.
+ * <br>
+ * Maps are shared between stages, so stages must not modify maps they get from here. JSON documents are kept as text
+ * and parsed fresh for each {@link #json(String)} call instead, because several stages edit their copy in place.
+ * Stages that only filter or edit the records of a JSON array should use {@link #transform(String, String,
+ * JsonRecords.Transform)}, which streams instead of keeping anything.
+ * <br>
+ * If the assets folder has a {@link MetadataStore} compiled from the current versions of its source files, the maps it
+ * holds are served from it instead of being parsed, and only decode what is looked up.
+ * Every method is safe to call from stages running at the same time.
+ */
+public class Artifacts {
+    private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<>(16);
+    /** The compiled store, once it has been found to match its sources; cleared when a stage writes a source. */
+    private volatile MetadataStore metadata;
+
+    /**
+     * Gets the compiled metadata store from the assets folder, if there is one and every file it was compiled from is
+     * unchanged since; see {@link MetadataStore#SOURCES}.
+     *
+     * @return the current store, or null if there is none or it is out of date
+     */
+    public MetadataStore metadata() {
+        MetadataStore store = metadata;
+        if (store != null) return store;
+        FileHandle file = Gdx.files.local(MetadataStore.FILE_NAME);
+        if (!file.exists()) return null;
+        store = MetadataStore.load(file);
+        if (!store.isCurrent(sources())) return null;
+        return metadata = store;
+    }
+
+    /** @return the files a {@link MetadataStore} is compiled from, in checksum order */
+    public static FileHandle[] sources() {
+        FileHandle[] sources = new FileHandle[MetadataStore.SOURCES.length];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = Gdx.files.internal(MetadataStore.SOURCES[i]);
+        }
+        return sources;
+    }
+
+    /** Forgets the store if name is one of its sources, since that file is about to change. */
+    private void changing(String name) {
+        if (Arrays.asList(MetadataStore.SOURCES).contains(name)) metadata = null;
+    }
+
+    /**
+     * Gets a JSON object of strings to strings, such as {@code names-cldr.json}.
+     *
+     * @param name the artifact's file name in the assets folder
+     * @return the shared map; don't modify it
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, String> stringMap(String name) {
+        return (Map<String, String>) values.computeIfAbsent(name, k -> {
+            MetadataStore store = metadata();
+            if (store != null && "stripped-to-emoji.json".equals(k)) return store.emojiMap();
+            if (store != null && "names-cldr.json".equals(k)) return store.nameMap();
+            return new Json().fromJson(LinkedHashMap.class, String.class, Gdx.files.internal(k));
+        });
+    }
+
+    /**
+     * Gets a JSON object of strings to string arrays, such as {@code aliases.json}.
+     *
+     * @param name the artifact's file name in the assets folder
+     * @return the shared map; don't modify it
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, String[]> arrayMap(String name) {
+        return (Map<String, String[]>) values.computeIfAbsent(name, k -> {
+            MetadataStore store = metadata();
+            if (store != null && "aliases.json".equals(k)) return store.aliasMap();
+            return new Json().fromJson(LinkedHashMap.class, String[].class, Gdx.files.internal(k));
+        });
+    }
+
+    /**
+     * Parses a JSON document, such as {@code noto-emoji-cleaned.json}, from memory if a stage already wrote it during
+     * this run. Each call returns a new tree that the caller can change freely.
+     *
+     * @param name the artifact's file name in the assets folder
+     * @return a newly parsed JsonValue
+     */
+    public JsonValue json(String name) {
+        String text = (String) values.computeIfAbsent(name, k -> Gdx.files.internal(k).readString("UTF8"));
+        return new JsonReader().parse(text);
+    }
+
+    /**
+     * Writes a map to the named file and keeps it for later stages.
+     *
+     * @param name      the artifact's file name in the assets folder
+     * @param map       a map that no one will modify after this
+     * @param valueType the class of map's values, such as {@code String.class}
+     */
+    public void putMap(String name, LinkedHashMap<String, ?> map, Class<?> valueType) {
+        changing(name);
+        new Json(JsonWriter.OutputType.json).toJson(map, LinkedHashMap.class, valueType, Gdx.files.local(name));
+        values.put(name, map);
+    }
+
+    /**
+     * Streams the records in one JSON array file through a transform into another file, without holding either
+     * document in memory; see {@link JsonRecords}. Later {@link #json(String)} calls for output read the new file.
+     *
+     * @param input     the file name of a JSON array of objects in the assets folder
+     * @param output    the file name to write in the assets folder
+     * @param transform changes or drops each record
+     * @return how many records were written
+     */
+    public int transform(String input, String output, JsonRecords.Transform transform) {
+        changing(output);
+        int written = JsonRecords.transform(Gdx.files.internal(input), Gdx.files.local(output), transform);
+        values.remove(output);
+        return written;
+    }
+}
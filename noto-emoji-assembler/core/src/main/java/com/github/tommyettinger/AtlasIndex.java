@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A binary index of an atlas's regions, meant to be memory-mapped at startup instead of parsing the text .atlas file.
+ * {@link #findRegion(CharSequence)} looks a name up directly in the mapped bytes, so no String or region object is
+ * made for any name that isn't asked for. Every name and alias from the full atlas can be looked up, but each distinct
+ * region is stored only once.
+ * <br>
+ * The file is little-endian, and laid out as:
+ * <ol>
+ *     <li>a header of 8 ints: {@link #MAGIC}, {@link #VERSION}, page count, region count, name count, bucket bits,
+ *     string pool offset, and string pool length;</li>
+ *     <li>per page, 4 ints: name offset and length in the string pool, width, and height;</li>
+ *     <li>per region, {@link #REGION_INTS} ints: page, left, top, width, height, offsetX, offsetY, originalWidth,
+ *     originalHeight, degrees, and index;</li>
+ *     <li>{@code (1 << bucketBits) + 1} ints, where bucket b's names start at the first and end before the second;</li>
+ *     <li>per name, 4 ints: hash, name offset and length in the string pool, and region, sorted by bucket;</li>
+ *     <li>the string pool, holding every page and region name in UTF-8.</li>
+ * </ol>
+ * Names are hashed by their UTF-16 chars with {@link #hash(CharSequence)}, and a name's bucket is the top bucketBits
+ * bits of its hash.
+ */
+public class AtlasIndex {
+    public static final String EXTENSION = ".atlasindex";
+    public static final int MAGIC = 0x4E45_4149; // "NEAI"
+    public static final int VERSION = 1;
+    public static final int REGION_INTS = 11;
+
+    private static final int HEADER_BYTES = 8 * 4;
+
+    private final ByteBuffer buffer;
+    private final int pageCount, regionCount, nameCount, bucketBits;
+    private final int pagesAt, regionsAt, bucketsAt, namesAt, poolAt;
+
+    /**
+     * Wraps a buffer holding an index file. The buffer's byte order is set to little-endian.
+     *
+     * @param buffer the contents of an index file, such as from {@link #map(File)}
+     */
+    public AtlasIndex(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            throw new GdxRuntimeException("Not a version " + VERSION + " atlas index.");
+        pageCount = buffer.getInt(8);
+        regionCount = buffer.getInt(12);
+        nameCount = buffer.getInt(16);
+        bucketBits = buffer.getInt(20);
+        poolAt = buffer.getInt(24);
+        pagesAt = HEADER_BYTES;
+        regionsAt = pagesAt + pageCount * 16;
+        bucketsAt = regionsAt + regionCount * REGION_INTS * 4;
+        namesAt = bucketsAt + ((1 << bucketBits) + 1) * 4;
+    }
+
+    /**
+     * Memory-maps an index file, read-only. The mapping stays valid after this returns, even though the file is closed.
+     *
+     * @param file an index file on a real file system (not inside a jar or APK)
+     * @return a new AtlasIndex backed by the mapped file
+     */
+    public static AtlasIndex map(File file) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            return new AtlasIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't map atlas index " + file, e);
+        }
+    }
+
+    /**
+     * Loads an index from any FileHandle, mapping it if it is a local or absolute file, or reading it into memory if it
+     * is something that can't be mapped, like a classpath or Android internal file.
+     *
+     * @param file an index file
+     * @return a new AtlasIndex
+     */
+    public static AtlasIndex load(FileHandle file) {
+        switch (file.type()) {
+            case Local:
+            case Absolute:
+            case External:
+                return map(file.file());
+            default:
+                return new AtlasIndex(ByteBuffer.wrap(file.readBytes()));
+        }
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    /** How many names can be looked up, counting every alias. */
+    public int getNameCount() {
+        return nameCount;
+    }
+
+    /**
+     * Hashes a name by its UTF-16 chars; this is the hash the index was built with.
+     *
+     * @param name any CharSequence
+     * @return a 32-bit hash of name
+     */
+    public static int hash(CharSequence name) {
+        int h = 0x9E3779B9 ^ name.length();
+        for (int i = 0, n = name.length(); i < n; i++) {
+            h = (h ^ name.charAt(i)) * 0x01000193;
+        }
+        return h ^ h >>> 15;
+    }
+
+    /**
+     * Finds the region a name or alias refers to, without allocating.
+     *
+     * @param name a region name or alias, such as {@code "thumbs_up"} or {@code "👍"}
+     * @return the region index, or -1 if name isn't in this index
+     */
+    public int findRegion(CharSequence name) {
+        int h = hash(name);
+        int bucket = bucketBits == 0 ? 0 : h >>> 32 - bucketBits;
+        int end = buffer.getInt(bucketsAt + (bucket + 1) * 4);
+        for (int i = buffer.getInt(bucketsAt + bucket * 4); i < end; i++) {
+            int at = namesAt + i * 16;
+            if (buffer.getInt(at) == h && poolEquals(buffer.getInt(at + 4), buffer.getInt(at + 8), name))
+                return buffer.getInt(at + 12);
+        }
+        return -1;
+    }
+
+    /**
+     * Compares UTF-8 bytes in the string pool with a CharSequence, decoding as it goes so nothing is allocated.
+     */
+    private boolean poolEquals(int offset, int length, CharSequence name) {
+        int c = 0, n = name.length();
+        for (int i = poolAt + offset, end = i + length; i < end; ) {
+            int b = buffer.get(i++) & 0xFF, cp;
+            if (b < 0x80) cp = b;
+            else if (b < 0xE0) cp = (b & 0x1F) << 6 | buffer.get(i++) & 0x3F;
+            else if (b < 0xF0) cp = (b & 0x0F) << 12 | (buffer.get(i++) & 0x3F) << 6 | buffer.get(i++) & 0x3F;
+            else cp = (b & 0x07) << 18 | (buffer.get(i++) & 0x3F) << 12 | (buffer.get(i++) & 0x3F) << 6 | buffer.get(i++) & 0x3F;
+            if (cp >= 0x10000) {
+                if (c + 1 >= n || name.charAt(c) != Character.highSurrogate(cp) || name.charAt(c + 1) != Character.lowSurrogate(cp))
+                    return false;
+                c += 2;
+            } else {
+                if (c >= n || name.charAt(c) != cp) return false;
+                c++;
+            }
+        }
+        return c == n;
+    }
+
+    private int regionInt(int region, int field) {
+        return buffer.getInt(regionsAt + (region * REGION_INTS + field) * 4);
+    }
+
+    public int getPage(int region) {
+        return regionInt(region, 0);
+    }
+
+    public int getLeft(int region) {
+        return regionInt(region, 1);
+    }
+
+    public int getTop(int region) {
+        return regionInt(region, 2);
+    }
+
+    public int getWidth(int region) {
+        return regionInt(region, 3);
+    }
+
+    public int getHeight(int region) {
+        return regionInt(region, 4);
+    }
+
+    public int getOffsetX(int region) {
+        return regionInt(region, 5);
+    }
+
+    public int getOffsetY(int region) {
+        return regionInt(region, 6);
+    }
+
+    public int getOriginalWidth(int region) {
+        return regionInt(region, 7);
+    }
+
+    public int getOriginalHeight(int region) {
+        return regionInt(region, 8);
+    }
+
+    public int getDegrees(int region) {
+        return regionInt(region, 9);
+    }
+
+    public int getIndex(int region) {
+        return regionInt(region, 10);
+    }
+
+    /**
+     * Gets the texture file name of a page, such as {@code noto-emoji.png}. This allocates a String.
+     *
+     * @param page a page index, from 0 inclusive to {@link #getPageCount()} exclusive
+     * @return the file name of that page's texture, relative to the atlas
+     */
+    public String getPageName(int page) {
+        int at = pagesAt + page * 16;
+        return poolString(buffer.getInt(at), buffer.getInt(at + 4));
+    }
+
+    public int getPageWidth(int page) {
+        return buffer.getInt(pagesAt + page * 16 + 8);
+    }
+
+    public int getPageHeight(int page) {
+        return buffer.getInt(pagesAt + page * 16 + 12);
+    }
+
+    private String poolString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer dup = buffer.duplicate();
+        dup.position(poolAt + offset);
+        dup.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Makes an AtlasRegion for one region, the same as a TextureAtlas would have made for it (without a name or any
+     * custom values). Only call this for regions you need; that's the point of the index.
+     *
+     * @param region a region index, as returned by {@link #findRegion(CharSequence)}
+     * @param pages  the loaded textures for every page, in page order; only the page this region is on must be non-null
+     * @return a new AtlasRegion
+     */
+    public AtlasRegion toAtlasRegion(int region, Texture[] pages) {
+        int degrees = getDegrees(region);
+        boolean rotate = degrees == 90;
+        int width = getWidth(region), height = getHeight(region);
+        AtlasRegion atlasRegion = new AtlasRegion(pages[getPage(region)], getLeft(region), getTop(region),
+                rotate ? height : width, rotate ? width : height);
+        atlasRegion.index = getIndex(region);
+        atlasRegion.offsetX = getOffsetX(region);
+        atlasRegion.offsetY = getOffsetY(region);
+        atlasRegion.originalWidth = getOriginalWidth(region);
+        atlasRegion.originalHeight = getOriginalHeight(region);
+        atlasRegion.rotate = rotate;
+        atlasRegion.degrees = degrees;
+        return atlasRegion;
+    }
+
+    /**
+     * Writes an index for a full .atlas file (one that lists every alias as its own region) beside it, with the same
+     * name and the extension {@link #EXTENSION}. Regions that only differ by name are stored once.
+     *
+     * @param atlasFile a full .atlas file, such as {@code atlas-mid-color/noto-emoji.atlas}
+     * @return the index file that was written
+     */
+    public static FileHandle write(FileHandle atlasFile) {
+        FileHandle out = atlasFile.sibling(atlasFile.nameWithoutExtension() + EXTENSION);
+        write(new TextureAtlasData(atlasFile, atlasFile.parent(), false), out);
+        return out;
+    }
+
+    /**
+     * Writes an index for the given atlas data. Regions that only differ by name are stored once.
+     *
+     * @param data atlas data, typically from a full .atlas file
+     * @param out  where to write the index; will be overwritten
+     */
+    public static void write(TextureAtlasData data, FileHandle out) {
+        Array<Page> pages = data.getPages();
+        Array<Region> regions = data.getRegions();
+        ByteArrayOutputStream pool = new ByteArrayOutputStream(regions.size * 16);
+        ObjectIntMap<AliasAtlas.RegionKey> unique = new ObjectIntMap<>(regions.size);
+        Array<Region> uniqueRegions = new Array<>(Region.class);
+        int nameCount = regions.size;
+        long[] sortable = new long[nameCount];
+        int[] names = new int[nameCount * 4];
+        for (int i = 0; i < nameCount; i++) {
+            Region region = regions.get(i);
+            AliasAtlas.RegionKey key = new AliasAtlas.RegionKey(region);
+            int r = unique.get(key, -1);
+            if (r < 0) {
+                unique.put(key, r = uniqueRegions.size);
+                uniqueRegions.add(region);
+            }
+            byte[] utf8 = region.name.getBytes(StandardCharsets.UTF_8);
+            int h = hash(region.name);
+            names[i * 4] = h;
+            names[i * 4 + 1] = pool.size();
+            names[i * 4 + 2] = utf8.length;
+            names[i * 4 + 3] = r;
+            pool.write(utf8, 0, utf8.length);
+        }
+        int bucketBits = Math.max(0, 31 - Integer.numberOfLeadingZeros(Math.max(1, nameCount >>> 1)));
+        int bucketCount = 1 << bucketBits;
+        for (int i = 0; i < nameCount; i++) {
+            // Flipping the sign bit makes signed order match unsigned order, so sorting orders by bucket.
+            // The original position goes in the low bits.
+            sortable[i] = (long) (names[i * 4] ^ Integer.MIN_VALUE) << 32 | i;
+        }
+        Arrays.sort(sortable);
+        int[] bucketStarts = new int[bucketCount + 1];
+        for (int i = 0; i < nameCount; i++) {
+            int h = names[(int) sortable[i] * 4];
+            bucketStarts[(bucketBits == 0 ? 0 : h >>> 32 - bucketBits) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+        int[] pageNames = new int[pages.size * 2];
+        for (int p = 0; p < pages.size; p++) {
+            byte[] utf8 = pages.get(p).textureFile.name().getBytes(StandardCharsets.UTF_8);
+            pageNames[p * 2] = pool.size();
+            pageNames[p * 2 + 1] = utf8.length;
+            pool.write(utf8, 0, utf8.length);
+        }
+        int poolAt = HEADER_BYTES + pages.size * 16 + uniqueRegions.size * REGION_INTS * 4
+                + (bucketCount + 1) * 4 + nameCount * 16;
+        ByteBuffer bb = ByteBuffer.allocate(poolAt + pool.size()).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(MAGIC).putInt(VERSION).putInt(pages.size).putInt(uniqueRegions.size).putInt(nameCount)
+                .putInt(bucketBits).putInt(poolAt).putInt(pool.size());
+        for (int p = 0; p < pages.size; p++) {
+            Page page = pages.get(p);
+            bb.putInt(pageNames[p * 2]).putInt(pageNames[p * 2 + 1]).putInt((int) page.width).putInt((int) page.height);
+        }
+        for (Region region : uniqueRegions) {
+            bb.putInt(pages.indexOf(region.page, true)).putInt(region.left).putInt(region.top)
+                    .putInt(region.width).putInt(region.height).putInt((int) region.offsetX).putInt((int) region.offsetY)
+                    .putInt(region.originalWidth).putInt(region.originalHeight).putInt(region.degrees).putInt(region.index);
+        }
+        for (int start : bucketStarts) {
+            bb.putInt(start);
+        }
+        for (int i = 0; i < nameCount; i++) {
+            int at = (int) sortable[i] * 4;
+            bb.putInt(names[at]).putInt(names[at + 1]).putInt(names[at + 2]).putInt(names[at + 3]);
+        }
+        bb.put(pool.toByteArray());
+        out.writeBytes(bb.array(), false);
+    }
+}
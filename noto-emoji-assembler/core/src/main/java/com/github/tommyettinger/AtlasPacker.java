@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.ArrayList;
+import java.util.concurrent.*;
+
+/**
+ * Packs a folder of renamed emoji into a libGDX atlas, using the same settings as one of the {@code atlas-*-color.tpproj}
+ * projects made with gdx-texturepacker-gui, but without needing that GUI. The .tpproj file is read directly, so its
+ * page size, padding, bleed, whitespace stripping, and so on stay the single source of truth.
+ * <br>
+ * Each AtlasPacker runs one {@link TexturePacker}; {@link #packAll(AtlasPacker...)} runs several at once, one per
+ * thread, since they share nothing.
+ */
+public class AtlasPacker {
+    /** The .tpproj file this was configured from. */
+    public final FileHandle project;
+    /** The settings read from {@link #project}; can be changed before calling {@link #pack()}. */
+    public final TexturePacker.Settings settings;
+    /** The name of the .atlas file and its pages, without any extension, such as {@code noto-emoji}. */
+    public String packFileName;
+    /** The folder of images to pack; every PNG in it and its subfolders is packed, using only its file name. */
+    public FileHandle inputDir;
+    /** Where the .atlas file and its PNG pages are written. */
+    public FileHandle outputDir;
+    /**
+     * If true (the default), {@link #pack()} also writes a deduplicated atlas and alias table beside the full atlas,
+     * using {@link AliasAtlas#deduplicate(FileHandle)}.
+     */
+    public boolean deduplicate = true;
+    /**
+     * If true (the default), {@link #pack()} also writes a binary {@link AtlasIndex} and a {@link PerfectNameHash}
+     * beside the full atlas.
+     */
+    public boolean writeIndex = true;
+    /**
+     * If non-null, {@link #pack()} lays the packed images out again in rows in this order, so emoji that are drawn
+     * next to each other are next to each other on the page; see {@link OrderedAtlas}. Defaults to null, which keeps
+     * TexturePacker's layout.
+     */
+    public ObjectIntMap<String> order;
+
+    /**
+     * Reads a gdx-texturepacker-gui project file. Paths in it are resolved relative to the folder the project is in.
+     *
+     * @param project a .tpproj file, such as {@code atlas-mid-color.tpproj}
+     */
+    public AtlasPacker(FileHandle project) {
+        this.project = project;
+        this.settings = new TexturePacker.Settings();
+        ObjectMap<String, String> props = new ObjectMap<>(64);
+        for (String line : project.readString("UTF8").split("\r?\n")) {
+            int eq = line.indexOf('=');
+            if (eq > 0) props.put(line.substring(0, eq).trim(), line.substring(eq + 1).trim());
+        }
+        FileHandle root = project.parent();
+        packFileName = props.get("filename", "noto-emoji.atlas");
+        if (packFileName.endsWith(settings.atlasExtension))
+            packFileName = packFileName.substring(0, packFileName.length() - settings.atlasExtension.length());
+        outputDir = root.child(props.get("output", project.nameWithoutExtension()));
+
+        JsonReader reader = new JsonReader();
+        JsonValue inputs = reader.parse(props.get("inputFiles", "[]"));
+        if (inputs.child == null)
+            throw new GdxRuntimeException("No inputFiles in " + project);
+        inputDir = root.child(inputs.child.getString("path"));
+        settings.flattenPaths = inputs.child.getBoolean("flattenPaths", true);
+
+        settings.alias = bool(props, "alias", settings.alias);
+        settings.alphaThreshold = Integer.parseInt(props.get("alphaThreshold", "0"));
+        settings.debug = bool(props, "debug", false);
+        settings.duplicatePadding = bool(props, "duplicatePadding", settings.duplicatePadding);
+        settings.edgePadding = bool(props, "edgePadding", settings.edgePadding);
+        settings.fast = bool(props, "fast", settings.fast);
+        settings.filterMag = Texture.TextureFilter.valueOf(props.get("filterMag", "Linear"));
+        settings.filterMin = Texture.TextureFilter.valueOf(props.get("filterMin", "Linear"));
+        settings.ignoreBlankImages = bool(props, "ignoreBlankImages", settings.ignoreBlankImages);
+        settings.maxHeight = Integer.parseInt(props.get("maxHeight", "2048"));
+        settings.maxWidth = Integer.parseInt(props.get("maxWidth", "2048"));
+        settings.minHeight = Integer.parseInt(props.get("minHeight", "16"));
+        settings.minWidth = Integer.parseInt(props.get("minWidth", "16"));
+        settings.paddingX = Integer.parseInt(props.get("paddingX", "2"));
+        settings.paddingY = Integer.parseInt(props.get("paddingY", "2"));
+        settings.pot = bool(props, "pot", settings.pot);
+        settings.multipleOfFour = bool(props, "mof", settings.multipleOfFour);
+        settings.rotation = bool(props, "rotation", settings.rotation);
+        settings.stripWhitespaceX = bool(props, "stripWhitespaceX", settings.stripWhitespaceX);
+        settings.stripWhitespaceY = bool(props, "stripWhitespaceY", settings.stripWhitespaceY);
+        settings.wrapX = Texture.TextureWrap.valueOf(props.get("wrapX", "ClampToEdge"));
+        settings.wrapY = Texture.TextureWrap.valueOf(props.get("wrapY", "ClampToEdge"));
+        settings.premultiplyAlpha = bool(props, "premultiplyAlpha", settings.premultiplyAlpha);
+        settings.grid = bool(props, "grid", settings.grid);
+        settings.square = bool(props, "square", settings.square);
+        settings.bleed = bool(props, "bleed", settings.bleed);
+        settings.limitMemory = bool(props, "limitMemory", settings.limitMemory);
+        settings.useIndexes = bool(props, "useIndexes", settings.useIndexes);
+        settings.prettyPrint = bool(props, "prettyPrint", settings.prettyPrint);
+        settings.legacyOutput = bool(props, "legacyOutput", settings.legacyOutput);
+        settings.outputFormat = props.get("fileTypeType", "png");
+        JsonValue fileType = reader.parse(props.get("fileTypeData", "{}"));
+        settings.format = Pixmap.Format.valueOf(fileType.getString("encoding", "RGBA8888"));
+
+        JsonValue scales = reader.parse(props.get("scaleFactors", "[]"));
+        if (scales.size > 0) {
+            settings.scale = new float[scales.size];
+            settings.scaleSuffix = new String[scales.size];
+            settings.scaleResampling = new TexturePacker.Resampling[scales.size];
+            int i = 0;
+            for (JsonValue scale = scales.child; scale != null; scale = scale.next, i++) {
+                settings.scale[i] = scale.getFloat("factor", 1f);
+                settings.scaleSuffix[i] = scale.getString("suffix", "");
+                settings.scaleResampling[i] = TexturePacker.Resampling.valueOf(scale.getString("resampling", "bicubic"));
+            }
+        }
+        // Several packers may run at once, so their progress bars would only garble each other.
+        settings.silent = true;
+    }
+
+    private static boolean bool(ObjectMap<String, String> props, String key, boolean defaultValue) {
+        String value = props.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Packs every PNG under {@link #inputDir} into {@link #outputDir}, replacing the .atlas file and pages that were
+     * there. TexturePacker appends to an existing .atlas file, so the old one has to go first.
+     */
+    public void pack() {
+        long start = System.currentTimeMillis();
+        outputDir.mkdirs();
+        outputDir.child(packFileName + settings.atlasExtension).delete();
+        for (FileHandle old : outputDir.list("." + settings.outputFormat)) {
+            if (old.name().startsWith(packFileName)) old.delete();
+        }
+        TexturePacker packer = new TexturePacker(inputDir.file(), settings);
+        int count = addImages(packer, inputDir);
+        packer.pack(outputDir.file(), packFileName);
+        FileHandle atlasFile = outputDir.child(packFileName + settings.atlasExtension);
+        if (order != null)
+            OrderedAtlas.reorder(atlasFile, settings, order);
+        if (deduplicate)
+            AliasAtlas.deduplicate(atlasFile);
+        if (writeIndex) {
+            AtlasIndex.write(atlasFile);
+            PerfectNameHash.write(atlasFile);
+        }
+        System.out.println("Packed " + count + " images from " + inputDir.name() + " into " + outputDir.name()
+                + " in " + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    private static int addImages(TexturePacker packer, FileHandle dir) {
+        int count = 0;
+        for (FileHandle file : dir.list()) {
+            if (file.isDirectory()) {
+                count += addImages(packer, file);
+            } else if ("png".equalsIgnoreCase(file.extension())) {
+                packer.addImage(file.file());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs {@link #pack()} on each packer at the same time, each on its own thread, and waits for all to finish.
+     *
+     * @param packers any number of AtlasPackers with different output files
+     */
+    public static void packAll(AtlasPacker... packers) {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(packers.length, Runtime.getRuntime().availableProcessors())));
+        try {
+            ArrayList<Future<?>> futures = new ArrayList<>(packers.length);
+            for (AtlasPacker packer : packers) {
+                futures.add(executor.submit(packer::pack));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
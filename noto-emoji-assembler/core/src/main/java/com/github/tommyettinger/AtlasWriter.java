@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes pages and regions in the libGDX .atlas format that TexturePacker produces (the current format, not the legacy
+ * one), so anything written here loads with an ordinary {@link com.badlogic.gdx.graphics.g2d.TextureAtlas}. Regions
+ * must be grouped by page, in the same order as the pages.
+ */
+public final class AtlasWriter {
+    private AtlasWriter() {
+    }
+
+    /**
+     * Writes a whole .atlas file.
+     *
+     * @param pages   every page, in order; only their texture file names are written, not their images
+     * @param regions every region to write, grouped by page
+     * @param file    the .atlas file to write; will be overwritten
+     */
+    public static void write(Array<Page> pages, Array<Region> regions, FileHandle file) {
+        try (Writer writer = file.writer(false, "UTF8")) {
+            write(pages, regions, writer);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write atlas " + file, e);
+        }
+    }
+
+    /**
+     * Writes a whole .atlas file to writer, leaving it open.
+     *
+     * @param pages   every page, in order; only their texture file names are written, not their images
+     * @param regions every region to write, grouped by page
+     * @param writer  where to write the atlas text
+     * @throws IOException if writer throws one
+     */
+    public static void write(Array<Page> pages, Array<Region> regions, Writer writer) throws IOException {
+        int r = 0;
+        for (int p = 0; p < pages.size; p++) {
+            Page page = pages.get(p);
+            if (p > 0) writer.write('\n');
+            writePage(page, writer);
+            for (; r < regions.size && regions.get(r).page == page; r++) {
+                writeRegion(regions.get(r), regions.get(r).name, writer);
+            }
+        }
+        if (r < regions.size)
+            throw new GdxRuntimeException("Region " + regions.get(r).name + " is not grouped with its page.");
+    }
+
+    public static void writePage(Page page, Writer writer) throws IOException {
+        writer.write(page.textureFile.name());
+        writer.write("\nsize:" + (int) page.width + "," + (int) page.height + "\n");
+        if (page.format != null && page.format != Pixmap.Format.RGBA8888)
+            writer.write("format:" + page.format + "\n");
+        writer.write("filter:" + page.minFilter + "," + page.magFilter + "\n");
+        boolean x = page.uWrap == Texture.TextureWrap.Repeat, y = page.vWrap == Texture.TextureWrap.Repeat;
+        writer.write("repeat:" + (x ? y ? "xy" : "x" : y ? "y" : "none") + "\n");
+        if (page.pma)
+            writer.write("pma:true\n");
+    }
+
+    /**
+     * Writes one region's entry under the given name, which doesn't have to be the region's own name.
+     */
+    public static void writeRegion(Region region, String name, Writer writer) throws IOException {
+        writer.write(name);
+        writer.write('\n');
+        if (region.index != -1)
+            writer.write("index:" + region.index + "\n");
+        writer.write("bounds:" + region.left + "," + region.top + "," + region.width + "," + region.height + "\n");
+        int offsetX = (int) region.offsetX, offsetY = (int) region.offsetY;
+        if (offsetX != 0 || offsetY != 0 || region.originalWidth != region.width || region.originalHeight != region.height)
+            writer.write("offsets:" + offsetX + "," + offsetY + "," + region.originalWidth + "," + region.originalHeight + "\n");
+        if (region.degrees == 90)
+            writer.write("rotate:true\n");
+        else if (region.degrees != 0)
+            writer.write("rotate:" + region.degrees + "\n");
+        if (region.names != null) {
+            for (int i = 0; i < region.names.length; i++) {
+                writer.write(region.names[i]);
+                writer.write(':');
+                int[] values = region.values[i];
+                for (int v = 0; v < values.length; v++) {
+                    if (v > 0) writer.write(',');
+                    writer.write(Integer.toString(values[v]));
+                }
+                writer.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers what each raw image was renamed to last time, so a rerun of {@link EmojiRenamer} only touches the emoji
+ * whose image or metadata changed, and deletes outputs that no longer belong to anything. For each codename, this keeps
+ * a hash of the raw image's bytes, a hash of everything it resolved to (emoji, name, and aliases), and the paths it was
+ * written to, relative to the renamed folder.
+ * <br>
+ * The file is UTF-8 text with one line per codename, sorted so it diffs well: the codename, the two hashes in hex, and
+ * then every output path, all separated by tabs. Records can be added from many threads at once.
+ */
+public class BuildManifest {
+    /** The name of the manifest in each renamed folder. */
+    public static final String FILE_NAME = "manifest.tsv";
+
+    /** What one codename was built from and built into. */
+    public static final class Record {
+        public final long contentHash;
+        public final long entryHash;
+        public final String[] outputs;
+
+        public Record(long contentHash, long entryHash, String[] outputs) {
+            this.contentHash = contentHash;
+            this.entryHash = entryHash;
+            this.outputs = outputs;
+        }
+
+        /**
+         * @return true if this was built from the same image bytes and the same resolved entry
+         */
+        public boolean sameInputs(long contentHash, long entryHash) {
+            return this.contentHash == contentHash && this.entryHash == entryHash;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Record> records = new ConcurrentHashMap<>(4096);
+
+    public Record get(String codename) {
+        return records.get(codename);
+    }
+
+    public void put(String codename, Record record) {
+        records.put(codename, record);
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Finds every output path in this manifest that isn't an output of any record in next.
+     *
+     * @param next the manifest for the current build
+     * @return output paths that only this older manifest has
+     */
+    public ArrayList<String> staleOutputs(BuildManifest next) {
+        HashSet<String> current = new HashSet<>(next.records.size() * 4);
+        for (Record record : next.records.values()) {
+            Collections.addAll(current, record.outputs);
+        }
+        ArrayList<String> stale = new ArrayList<>();
+        for (Record record : records.values()) {
+            for (String output : record.outputs) {
+                if (!current.contains(output)) stale.add(output);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Deletes every stale output of this manifest, relative to dir.
+     *
+     * @param dir  the folder outputs are relative to
+     * @param next the manifest for the current build
+     * @return how many files were deleted
+     */
+    public int deleteStale(FileHandle dir, BuildManifest next) {
+        int deleted = 0;
+        for (String output : staleOutputs(next)) {
+            if (dir.child(output).delete()) deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Reads a manifest written by {@link #save(FileHandle)}. A missing file is read as an empty manifest, so the first
+     * build after adding this treats everything as unknown rather than failing.
+     *
+     * @param file a {@link #FILE_NAME} file, which doesn't need to exist
+     * @return a new BuildManifest
+     */
+    public static BuildManifest load(FileHandle file) {
+        BuildManifest manifest = new BuildManifest();
+        if (!file.exists()) return manifest;
+        try (BufferedReader reader = file.reader(1 << 16, "UTF8")) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (parts.length < 3) continue;
+                String[] outputs = new String[parts.length - 3];
+                System.arraycopy(parts, 3, outputs, 0, outputs.length);
+                manifest.put(parts[0], new Record(Long.parseUnsignedLong(parts[1], 16),
+                        Long.parseUnsignedLong(parts[2], 16), outputs));
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new GdxRuntimeException("Couldn't read build manifest " + file, e);
+        }
+        return manifest;
+    }
+
+    /**
+     * Writes this manifest, sorted by codename.
+     *
+     * @param file where to write; will be overwritten
+     */
+    public void save(FileHandle file) {
+        ArrayList<String> codenames = new ArrayList<>(records.keySet());
+        Collections.sort(codenames);
+        try (Writer writer = file.writer(false, "UTF8")) {
+            for (String codename : codenames) {
+                Record record = records.get(codename);
+                writer.write(codename);
+                writer.write('\t');
+                writer.write(Long.toHexString(record.contentHash));
+                writer.write('\t');
+                writer.write(Long.toHexString(record.entryHash));
+                for (String output : record.outputs) {
+                    writer.write('\t');
+                    writer.write(output);
+                }
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write build manifest " + file, e);
+        }
+    }
+
+    /**
+     * Hashes the contents of a file; this is a 64-bit hash, which is plenty to notice a changed image but not meant to
+     * resist anyone trying to cause collisions.
+     *
+     * @param file any file
+     * @return a 64-bit hash of file's bytes
+     */
+    public static long hashFile(FileHandle file) {
+        ByteBuffer bb = ByteBuffer.wrap(file.readBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        long h = 0x9E3779B97F4A7C15L ^ bb.remaining();
+        while (bb.remaining() >= 8) {
+            h = (h ^ bb.getLong()) * 0xD1342543DE82EF95L;
+            h ^= h >>> 29;
+        }
+        while (bb.hasRemaining()) {
+            h = (h ^ bb.get()) * 0xD1342543DE82EF95L;
+        }
+        return h ^ h >>> 31 ^ h >>> 47;
+    }
+
+    /**
+     * Hashes every string that decides where an entry's image goes.
+     *
+     * @param entry a resolved entry
+     * @return a 64-bit hash of entry's emoji, name, and aliases
+     */
+    public static long hashEntry(EmojiRenamer.Entry entry) {
+        long h = hash(0x9E3779B97F4A7C15L, entry.emoji);
+        h = hash(h, entry.name);
+        for (String alias : entry.aliases) {
+            h = hash(h, alias);
+        }
+        return h;
+    }
+
+    private static long hash(long h, String s) {
+        h = (h ^ s.length()) * 0xD1342543DE82EF95L;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            h = (h ^ s.charAt(i)) * 0xD1342543DE82EF95L;
+        }
+        return h ^ h >>> 29;
+    }
+}
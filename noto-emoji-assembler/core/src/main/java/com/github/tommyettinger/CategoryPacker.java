@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Packs an atlas whose pages are power-of-two squares (or smaller power-of-two rectangles, for the last page of a
+ * category), with each page holding emoji from only one category. Every category is packed on its own, with the
+ * settings of a .tpproj file except for the page size, and the results are merged into one .atlas file whose pages are
+ * named after their category, as in {@code noto-emoji-smileys-and-emotion.png} and
+ * {@code noto-emoji-people-and-body2.png}.
+ * <br>
+ * This lets the 72x72 emoji, which only fit one huge non-power-of-two page otherwise, be used on mobile, and with
+ * {@link LazyAtlas} an app only uploads the pages for the categories it actually shows.
+ */
+public class CategoryPacker {
+    /** The .tpproj file whose settings are used for everything but the page size. */
+    public final FileHandle project;
+    /** Where the merged .atlas file and its pages are written. */
+    public final FileHandle outputDir;
+    /** The width and height of a full page; should be a power of two, such as 2048 (the default) or 4096. */
+    public int pageSize = 2048;
+    /** The name of the .atlas file, and the start of each page's name, without any extension. */
+    public String packFileName = "noto-emoji";
+
+    /**
+     * @param project   a .tpproj file, such as {@code atlas-large-color.tpproj}
+     * @param outputDir where to write the atlas, such as {@code atlas-large-pot-color/}
+     */
+    public CategoryPacker(FileHandle project, FileHandle outputDir) {
+        this.project = project;
+        this.outputDir = outputDir;
+    }
+
+    /**
+     * Packs each category's folder of renamed emoji, then merges them into one atlas, replacing any atlas that was in
+     * {@link #outputDir}. The merged atlas also gets a deduplicated copy and indexes, as {@link AtlasPacker} writes.
+     *
+     * @param categories each category's name, mapped to a folder of its renamed emoji; pages go in the map's order
+     * @return the merged .atlas file
+     */
+    public FileHandle pack(Map<String, FileHandle> categories) {
+        long start = System.currentTimeMillis();
+        FileHandle workDir = outputDir.child("packing");
+        workDir.deleteDirectory();
+        ArrayList<AtlasPacker> packers = new ArrayList<>(categories.size());
+        for (Map.Entry<String, FileHandle> category : categories.entrySet()) {
+            AtlasPacker packer = new AtlasPacker(project);
+            packer.packFileName = packFileName;
+            packer.inputDir = category.getValue();
+            packer.outputDir = workDir.child(PreviewWriter.slug(category.getKey()));
+            packer.settings.pot = true;
+            packer.settings.maxWidth = packer.settings.maxHeight = pageSize;
+            packer.settings.minWidth = packer.settings.minHeight = 16;
+            packer.deduplicate = false;
+            packer.writeIndex = false;
+            packers.add(packer);
+        }
+        AtlasPacker.packAll(packers.toArray(new AtlasPacker[0]));
+
+        outputDir.mkdirs();
+        for (FileHandle old : outputDir.list(".png")) {
+            if (old.name().startsWith(packFileName)) old.delete();
+        }
+        Array<Page> pages = new Array<>(Page.class);
+        Array<Region> regions = new Array<>(4096);
+        // One emoji's alias can be another's name in a different category; like a single pack, the name wins.
+        ObjectMap<String, Region> owners = new ObjectMap<>(16384);
+        ObjectSet<String> named = new ObjectSet<>(8192);
+        for (Map.Entry<String, FileHandle> category : categories.entrySet()) {
+            String slug = PreviewWriter.slug(category.getKey());
+            FileHandle packed = workDir.child(slug).child(packFileName + ".atlas");
+            TextureAtlasData data = new TextureAtlasData(packed, packed.parent(), false);
+            for (int i = 0; i < data.getPages().size; i++) {
+                Page page = data.getPages().get(i);
+                FileHandle moved = outputDir.child(packFileName + "-" + slug + (i == 0 ? "" : i + 1) + ".png");
+                page.textureFile.moveTo(moved);
+                page.textureFile = moved;
+                pages.add(page);
+            }
+            for (Region region : data.getRegions()) {
+                boolean isName = category.getValue().child("name").child(region.name + ".png").exists();
+                if (!owners.containsKey(region.name) || (isName && !named.contains(region.name))) {
+                    owners.put(region.name, region);
+                    if (isName) named.add(region.name);
+                }
+                regions.add(region);
+            }
+        }
+        for (int i = regions.size - 1; i >= 0; i--) {
+            if (owners.get(regions.get(i).name) != regions.get(i)) regions.removeIndex(i);
+        }
+        workDir.deleteDirectory();
+        FileHandle atlasFile = outputDir.child(packFileName + ".atlas");
+        AtlasWriter.write(pages, regions, atlasFile);
+        AliasAtlas.deduplicate(atlasFile);
+        AtlasIndex.write(atlasFile);
+        PerfectNameHash.write(atlasFile);
+        System.out.println("Packed " + categories.size() + " categories into " + pages.size + " pages of at most "
+                + pageSize + "x" + pageSize + " in " + (System.currentTimeMillis() - start) + " ms.");
+        return atlasFile;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+/**
+ * Converts between emoji strings like {@code "👍"} and Noto codenames like {@code "emoji_u1f44d"}, and strips the
+ * {@code _fe0f} variation selectors from codenames. This is what {@link Main#emojiToCodePoints(String)},
+ * {@link Main#codePointsToEmoji(String)}, and {@link Main#stripFE0F(String)} call.
+ * <br>
+ * Everything here is hand-rolled instead of using {@link String#format(String, Object...)}, {@link String#split(String)},
+ * or regular expressions. The {@code append} methods write into a StringBuilder the caller can reuse, so they allocate
+ * nothing once that builder is large enough; the methods that return Strings only allocate their result. The bulk
+ * methods share one builder over a whole array.
+ */
+public final class EmojiCodec {
+    public static final String PREFIX = "emoji_u";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private EmojiCodec() {
+    }
+
+    /**
+     * Appends the codename for an emoji, such as {@code emoji_u1f468_200d_1f466} for 👨‍👦, to sb. Each code point is
+     * written in lower-case hex, padded to at least 4 digits.
+     *
+     * @param emoji an emoji string; each code point in it becomes one part of the codename
+     * @param sb    a StringBuilder that will have the codename appended
+     * @return sb, for chaining
+     */
+    public static StringBuilder appendCodePoints(CharSequence emoji, StringBuilder sb) {
+        sb.append(PREFIX);
+        for (int i = 0, n = emoji.length(); i < n; ) {
+            int cp = Character.codePointAt(emoji, i);
+            i += Character.charCount(cp);
+            int digits = Math.max(4, (35 - Integer.numberOfLeadingZeros(cp)) >>> 2);
+            for (int shift = digits - 1 << 2; shift >= 0; shift -= 4) {
+                sb.append(HEX[cp >>> shift & 15]);
+            }
+            if (i < n) sb.append('_');
+        }
+        return sb;
+    }
+
+    /**
+     * Gets the codename for an emoji, such as {@code emoji_u1f44d} for 👍.
+     *
+     * @param emoji an emoji string
+     * @return the Noto codename for emoji
+     * @see #appendCodePoints(CharSequence, StringBuilder) the version that doesn't allocate a String
+     */
+    public static String emojiToCodePoints(CharSequence emoji) {
+        return appendCodePoints(emoji, new StringBuilder(PREFIX.length() + emoji.length() * 3)).toString();
+    }
+
+    /**
+     * Appends the emoji for a codename, such as 👍 for {@code emoji_u1f44d}, to sb. The first 7 chars of codePoints
+     * are skipped, and everything after is read as hex code points separated by underscores. Upper- or lower-case hex
+     * digits are both allowed.
+     *
+     * @param codePoints a codename, such as a Noto file name without its extension
+     * @param sb         a StringBuilder that will have the emoji appended
+     * @return sb, for chaining
+     */
+    public static StringBuilder appendEmoji(CharSequence codePoints, StringBuilder sb) {
+        int cp = 0;
+        boolean any = false;
+        for (int i = PREFIX.length(), n = codePoints.length(); i < n; i++) {
+            char c = codePoints.charAt(i);
+            if (c == '_') {
+                if (any) sb.appendCodePoint(cp);
+                cp = 0;
+                any = false;
+            } else {
+                int d = Character.digit(c, 16);
+                if (d < 0)
+                    throw new NumberFormatException("Invalid hex digit '" + c + "' in codename " + codePoints);
+                cp = cp << 4 | d;
+                any = true;
+            }
+        }
+        if (any) sb.appendCodePoint(cp);
+        return sb;
+    }
+
+    /**
+     * Gets the emoji for a codename, such as 👍 for {@code emoji_u1f44d}.
+     *
+     * @param codePoints a codename, such as a Noto file name without its extension
+     * @return the emoji string that codename represents
+     * @see #appendEmoji(CharSequence, StringBuilder) the version that doesn't allocate a String
+     */
+    public static String codePointsToEmoji(CharSequence codePoints) {
+        return appendEmoji(codePoints, new StringBuilder(8)).toString();
+    }
+
+    /**
+     * Appends str to sb, skipping every occurrence of {@code _fe0f} (the variation selector 16, as a codename part).
+     *
+     * @param str a codename that may contain {@code _fe0f}
+     * @param sb  a StringBuilder that will have the stripped codename appended
+     * @return sb, for chaining
+     */
+    public static StringBuilder appendStrippedFE0F(CharSequence str, StringBuilder sb) {
+        int from = 0;
+        for (int i = indexOfFE0F(str, 0); i >= 0; i = indexOfFE0F(str, from)) {
+            sb.append(str, from, i);
+            from = i + 5;
+        }
+        return sb.append(str, from, str.length());
+    }
+
+    /**
+     * Removes every occurrence of {@code _fe0f} from str. If there aren't any, str itself is returned.
+     *
+     * @param str a codename that may contain {@code _fe0f}
+     * @return str without any {@code _fe0f}
+     */
+    public static String stripFE0F(String str) {
+        if (indexOfFE0F(str, 0) < 0) return str;
+        return appendStrippedFE0F(str, new StringBuilder(str.length())).toString();
+    }
+
+    private static int indexOfFE0F(CharSequence str, int from) {
+        for (int i = from, n = str.length() - 4; i < n; i++) {
+            if (str.charAt(i) == '_' && str.charAt(i + 1) == 'f' && str.charAt(i + 2) == 'e'
+                    && str.charAt(i + 3) == '0' && str.charAt(i + 4) == 'f')
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Converts each emoji in an array to its codename, reusing one buffer for the whole array.
+     *
+     * @param emoji an array of emoji strings; will not be modified
+     * @return a new array of the same length, with the codename for each item in emoji
+     */
+    public static String[] emojiToCodePoints(String[] emoji) {
+        String[] out = new String[emoji.length];
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < emoji.length; i++) {
+            sb.setLength(0);
+            out[i] = appendCodePoints(emoji[i], sb).toString();
+        }
+        return out;
+    }
+
+    /**
+     * Converts each codename in an array to its emoji, reusing one buffer for the whole array.
+     *
+     * @param codePoints an array of codenames; will not be modified
+     * @return a new array of the same length, with the emoji for each item in codePoints
+     */
+    public static String[] codePointsToEmoji(String[] codePoints) {
+        String[] out = new String[codePoints.length];
+        StringBuilder sb = new StringBuilder(16);
+        for (int i = 0; i < codePoints.length; i++) {
+            sb.setLength(0);
+            out[i] = appendEmoji(codePoints[i], sb).toString();
+        }
+        return out;
+    }
+
+    /**
+     * Removes {@code _fe0f} from every codename in an array, in-place. Items without {@code _fe0f} are left as they
+     * are, without allocating.
+     *
+     * @param codenames an array of codenames; will be modified
+     * @return codenames, after modification
+     */
+    public static String[] stripFE0F(String[] codenames) {
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < codenames.length; i++) {
+            if (indexOfFE0F(codenames[i], 0) < 0) continue;
+            sb.setLength(0);
+            codenames[i] = appendStrippedFE0F(codenames[i], sb).toString();
+        }
+        return codenames;
+    }
+}
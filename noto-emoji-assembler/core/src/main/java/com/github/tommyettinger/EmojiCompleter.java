@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Suggests emoji for a {@code :shortcode} as it is typed, matching the typed prefix against every name, alias, and tag
+ * of every emoji and giving the most popular matches first. Each node of a compressed trie (where chains of single
+ * children are merged into one edge with a multi-char label) stores its top suggestions ahead of time, so a query only
+ * walks down the trie by the prefix and copies that node's list, without allocating anything.
+ * <br>
+ * Matching ignores case and treats spaces and underscores as the same, so {@code "thumbs up"}, {@code "Thumbs_Up"},
+ * and {@code "thumbs_up"} all match the same way. Each emoji appears at most once in a list of suggestions, even if
+ * several of its terms match.
+ * <br>
+ * Suggestions are numbered from the most popular down, so a node's top suggestions are simply its lowest numbers. The
+ * completer is built at assembly time and written once to {@code assets/noto-emoji.completer}, since it doesn't depend
+ * on the atlas size.
+ */
+public class EmojiCompleter {
+    public static final String EXTENSION = ".completer";
+    public static final int MAGIC = 0x4E45_4143; // "NEAC"
+    public static final int VERSION = 1;
+
+    /** One emoji that can be suggested, with everything it can be found by. */
+    public static final class Item {
+        public final String emoji;
+        public final String name;
+        public final String[] terms;
+        public final int weight;
+
+        /**
+         * @param emoji  the emoji to suggest
+         * @param name   the name to show with it, usually its atlas name
+         * @param terms  every name, alias, and tag it can be found by; the name is not added automatically
+         * @param weight how popular it is; higher weights are suggested first
+         */
+        public Item(String emoji, String name, String[] terms, int weight) {
+            this.emoji = emoji;
+            this.name = name;
+            this.terms = terms;
+            this.weight = weight;
+        }
+    }
+
+    /** The most suggestions stored per node. */
+    private final int limit;
+    /** Node i's children are edges {@code firstEdge[i]} inclusive to {@code firstEdge[i+1]} exclusive. */
+    private final int[] firstEdge;
+    /** Edge i's label is {@code labels} from {@code labelStart[i]} inclusive to {@code labelStart[i+1]} exclusive. */
+    private final int[] labelStart;
+    /** Every edge label, normalized; edges of a node are sorted by their first char. */
+    private final char[] labels;
+    /** The node each edge leads to. */
+    private final int[] edgeTargets;
+    /** Node i's suggestions are {@code top} from {@code topStart[i]} inclusive to {@code topStart[i+1]} exclusive. */
+    private final int[] topStart;
+    private final int[] top;
+    private final String[] emoji, names;
+
+    private EmojiCompleter(int limit, int[] firstEdge, int[] labelStart, char[] labels, int[] edgeTargets,
+                           int[] topStart, int[] top, String[] emoji, String[] names) {
+        this.limit = limit;
+        this.firstEdge = firstEdge;
+        this.labelStart = labelStart;
+        this.labels = labels;
+        this.edgeTargets = edgeTargets;
+        this.topStart = topStart;
+        this.top = top;
+        this.emoji = emoji;
+        this.names = names;
+    }
+
+    /** Lower-cases c and turns a space into an underscore. */
+    private static char normalize(char c) {
+        return c == ' ' ? '_' : Character.toLowerCase(c);
+    }
+
+    /** A node of the uncompressed trie used while building. */
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        final IntArray ends = new IntArray(false, 2);
+        int[] top;
+    }
+
+    /**
+     * Builds a completer for the given emoji.
+     *
+     * @param items every emoji to suggest; their order only breaks ties in weight
+     * @param limit the most suggestions to store for each prefix, such as 8
+     * @return a new EmojiCompleter
+     */
+    public static EmojiCompleter build(List<Item> items, int limit) {
+        Item[] sorted = items.toArray(new Item[0]);
+        // Stable, so equal weights keep their order.
+        Arrays.sort(sorted, Comparator.comparingInt((Item item) -> item.weight).reversed());
+        Node root = new Node();
+        for (int id = 0; id < sorted.length; id++) {
+            for (String term : sorted[id].terms) {
+                if (term == null || term.isEmpty()) continue;
+                Node node = root;
+                for (int i = 0; i < term.length(); i++) {
+                    node = node.children.computeIfAbsent(normalize(term.charAt(i)), k -> new Node());
+                }
+                node.ends.add(id);
+            }
+        }
+        collectTop(root, limit);
+
+        IntArray firstEdge = new IntArray(), labelStart = new IntArray(), edgeTargets = new IntArray(),
+                topStart = new IntArray(), top = new IntArray();
+        StringBuilder labels = new StringBuilder(1 << 16);
+        // Nodes are numbered as they are reached; each one's edges are written together, in char order.
+        ArrayList<Node> order = new ArrayList<>(4096);
+        order.add(root);
+        for (int n = 0; n < order.size(); n++) {
+            Node node = order.get(n);
+            firstEdge.add(edgeTargets.size);
+            topStart.add(top.size);
+            top.addAll(node.top);
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                labelStart.add(labels.length());
+                labels.append(child.getKey().charValue());
+                // Follow the chain of single children with no emoji ending on them; they all share one list.
+                Node end = child.getValue();
+                while (end.children.size() == 1 && end.ends.isEmpty()) {
+                    Node next = end.children.firstEntry().getValue();
+                    labels.append(end.children.firstKey().charValue());
+                    end = next;
+                }
+                edgeTargets.add(order.size());
+                order.add(end);
+            }
+        }
+        firstEdge.add(edgeTargets.size);
+        topStart.add(top.size);
+        labelStart.add(labels.length());
+        String[] emoji = new String[sorted.length], names = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            emoji[i] = sorted[i].emoji;
+            names[i] = sorted[i].name;
+        }
+        char[] labelChars = new char[labels.length()];
+        labels.getChars(0, labelChars.length, labelChars, 0);
+        return new EmojiCompleter(limit, firstEdge.toArray(), labelStart.toArray(), labelChars, edgeTargets.toArray(),
+                topStart.toArray(), top.toArray(), emoji, names);
+    }
+
+    /**
+     * Sets the top suggestions of node and everything under it. The best distinct suggestions of a subtree are always
+     * among the best of its children's and its own, so merging those is enough.
+     */
+    private static void collectTop(Node node, int limit) {
+        IntArray candidates = new IntArray(node.ends);
+        for (Node child : node.children.values()) {
+            collectTop(child, limit);
+            candidates.addAll(child.top);
+        }
+        candidates.sort();
+        IntArray best = new IntArray(limit);
+        for (int i = 0; i < candidates.size && best.size < limit; i++) {
+            if (best.size == 0 || best.peek() != candidates.get(i)) best.add(candidates.get(i));
+        }
+        node.top = best.toArray();
+    }
+
+    /**
+     * Finds the best suggestions for a prefix, without allocating. A leading {@code ':'} is ignored.
+     *
+     * @param prefix what has been typed so far
+     * @param out    gets the suggestions, best first; its length is the most that will be given
+     * @return how many suggestions were put in out; 0 if nothing matches
+     */
+    public int complete(CharSequence prefix, int[] out) {
+        int node = 0, i = 0, n = prefix.length();
+        if (n > 0 && prefix.charAt(0) == ':') i++;
+        while (i < n) {
+            int edge = edge(node, normalize(prefix.charAt(i)));
+            if (edge < 0) return 0;
+            for (int c = labelStart[edge], end = labelStart[edge + 1]; c < end && i < n; c++, i++) {
+                if (labels[c] != normalize(prefix.charAt(i))) return 0;
+            }
+            node = edgeTargets[edge];
+        }
+        int start = topStart[node], count = Math.min(topStart[node + 1] - start, out.length);
+        System.arraycopy(top, start, out, 0, count);
+        return count;
+    }
+
+    /** Finds the edge of node whose label starts with c, or -1 if there isn't one. */
+    private int edge(int node, char c) {
+        int lo = firstEdge[node], hi = firstEdge[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = lo + hi >>> 1;
+            char first = labels[labelStart[mid]];
+            if (first < c) lo = mid + 1;
+            else if (first > c) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * @param suggestion a suggestion from {@link #complete(CharSequence, int[])}
+     * @return the emoji it suggests; this is stored, not allocated
+     */
+    public String getEmoji(int suggestion) {
+        return emoji[suggestion];
+    }
+
+    /**
+     * @param suggestion a suggestion from {@link #complete(CharSequence, int[])}
+     * @return the name to show for it; this is stored, not allocated
+     */
+    public String getName(int suggestion) {
+        return names[suggestion];
+    }
+
+    /** The most suggestions {@link #complete(CharSequence, int[])} can give. */
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getNodeCount() {
+        return firstEdge.length - 1;
+    }
+
+    public int getSuggestionCount() {
+        return emoji.length;
+    }
+
+    /**
+     * Saves this to a little-endian binary file: {@link #MAGIC}, {@link #VERSION}, the limit, node count, edge count,
+     * label length, suggestion list length, and emoji count, then the first edge of each node plus one end position,
+     * the label start of each edge plus one end position, the edge targets, the suggestion list start of each node plus
+     * one end position, the suggestion lists, the labels as UTF-16 chars, and each emoji and name as a length in bytes
+     * followed by that much UTF-8.
+     *
+     * @param file where to write; will be overwritten
+     */
+    public void save(FileHandle file) {
+        int nodes = firstEdge.length - 1, edges = edgeTargets.length;
+        byte[][] strings = new byte[emoji.length * 2][];
+        int stringBytes = 0;
+        for (int i = 0; i < emoji.length; i++) {
+            strings[i * 2] = emoji[i].getBytes(StandardCharsets.UTF_8);
+            strings[i * 2 + 1] = names[i].getBytes(StandardCharsets.UTF_8);
+            stringBytes += strings[i * 2].length + strings[i * 2 + 1].length + 8;
+        }
+        ByteBuffer bb = ByteBuffer.allocate((8 + nodes + 1 + edges + 1 + edges + nodes + 1 + top.length) * 4
+                + labels.length * 2 + stringBytes).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(MAGIC).putInt(VERSION).putInt(limit).putInt(nodes).putInt(edges).putInt(labels.length)
+                .putInt(top.length).putInt(emoji.length);
+        for (int[] array : new int[][]{firstEdge, labelStart, edgeTargets, topStart, top}) {
+            for (int v : array) {
+                bb.putInt(v);
+            }
+        }
+        for (char c : labels) {
+            bb.putChar(c);
+        }
+        for (byte[] s : strings) {
+            bb.putInt(s.length).put(s);
+        }
+        file.writeBytes(bb.array(), false);
+    }
+
+    /**
+     * Loads a completer saved by {@link #save(FileHandle)}.
+     *
+     * @param file a {@link #EXTENSION} file
+     * @return a new EmojiCompleter
+     */
+    public static EmojiCompleter load(FileHandle file) {
+        ByteBuffer bb = ByteBuffer.wrap(file.readBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        if (bb.getInt() != MAGIC || bb.getInt() != VERSION)
+            throw new GdxRuntimeException("Not a version " + VERSION + " emoji completer: " + file);
+        int limit = bb.getInt(), nodes = bb.getInt(), edges = bb.getInt(), labelLength = bb.getInt(),
+                topLength = bb.getInt(), count = bb.getInt();
+        int[] firstEdge = new int[nodes + 1], labelStart = new int[edges + 1], edgeTargets = new int[edges],
+                topStart = new int[nodes + 1], top = new int[topLength];
+        for (int[] array : new int[][]{firstEdge, labelStart, edgeTargets, topStart, top}) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = bb.getInt();
+            }
+        }
+        char[] labels = new char[labelLength];
+        for (int i = 0; i < labelLength; i++) {
+            labels[i] = bb.getChar();
+        }
+        String[] emoji = new String[count], names = new String[count];
+        for (int i = 0; i < count; i++) {
+            emoji[i] = readString(bb);
+            names[i] = readString(bb);
+        }
+        return new EmojiCompleter(limit, firstEdge, labelStart, labels, edgeTargets, topStart, top, emoji, names);
+    }
+
+    private static String readString(ByteBuffer bb) {
+        byte[] bytes = new byte[bb.getInt()];
+        bb.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
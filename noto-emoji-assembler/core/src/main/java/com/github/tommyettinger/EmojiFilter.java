@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.TreeMap;
+
+/**
+ * Decides which emoji to keep, using rules read from a text file such as {@code inoffensive.filter}. Each line is a
+ * rule, a {@code #} comment, or blank. A rule is {@code include} or {@code exclude}, then what it matches:
+ * <ul>
+ *     <li>{@code name NAME} matches that exact name;</li>
+ *     <li>{@code prefix TEXT}, {@code suffix TEXT}, and {@code contains TEXT} match names that start with, end with,
+ *     or contain TEXT;</li>
+ *     <li>{@code category CATEGORY} matches emoji in that category of {@code noto-emoji-cleaned.json}, such as
+ *     {@code Smileys & Emotion};</li>
+ *     <li>{@code skin-tone} matches emoji with a skin tone modifier.</li>
+ * </ul>
+ * An emoji is kept if no exclude rule matches it and, when there are any include rules, at least one of those does.
+ * Names are compared with underscores and spaces treated as the same, so {@code star of David} matches both the JSON's
+ * {@code star of David} and the atlas' {@code star_of_David}.
+ * <br>
+ * Rules are indexed by kind, so checking one emoji costs a hash lookup per distinct prefix or suffix length rather
+ * than one test per rule.
+ */
+public class EmojiFilter {
+    /** The rules for one of include or exclude. */
+    private static final class Rules {
+        final HashSet<String> names = new HashSet<>(128);
+        final HashSet<String> categories = new HashSet<>(16);
+        /** Prefixes and suffixes by length, so a name needs one lookup per length. */
+        final TreeMap<Integer, HashSet<String>> prefixes = new TreeMap<>(), suffixes = new TreeMap<>();
+        final ArrayList<String> contained = new ArrayList<>(8);
+        boolean skinTone;
+        int count;
+
+        boolean matches(String name, String emoji, String category) {
+            if (names.contains(name)) return true;
+            if (skinTone && hasSkinTone(name, emoji)) return true;
+            if (category != null && categories.contains(category)) return true;
+            for (Integer length : prefixes.headMap(name.length(), true).keySet()) {
+                if (prefixes.get(length).contains(name.substring(0, length))) return true;
+            }
+            for (Integer length : suffixes.headMap(name.length(), true).keySet()) {
+                if (suffixes.get(length).contains(name.substring(name.length() - length))) return true;
+            }
+            for (String text : contained) {
+                if (name.contains(text)) return true;
+            }
+            return false;
+        }
+    }
+
+    private final Rules include = new Rules(), exclude = new Rules();
+
+    /**
+     * Parses filter rules; see the class docs for the format.
+     *
+     * @param text   the rules, one per line
+     * @param source where text came from, for error messages
+     */
+    public EmojiFilter(String text, String source) {
+        String[] lines = text.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split("\\s+", 3);
+            Rules rules;
+            if ("include".equals(parts[0])) rules = include;
+            else if ("exclude".equals(parts[0])) rules = exclude;
+            else throw new GdxRuntimeException("Expected include or exclude on line " + (i + 1) + " of " + source);
+            if (parts.length == 2 && "skin-tone".equals(parts[1])) {
+                rules.skinTone = true;
+            } else if (parts.length == 3) {
+                String value = parts[2];
+                switch (parts[1]) {
+                    case "name": rules.names.add(normalize(value)); break;
+                    case "prefix": rules.prefixes.computeIfAbsent(value.length(), k -> new HashSet<>()).add(normalize(value)); break;
+                    case "suffix": rules.suffixes.computeIfAbsent(value.length(), k -> new HashSet<>()).add(normalize(value)); break;
+                    case "contains": rules.contained.add(normalize(value)); break;
+                    case "category": rules.categories.add(value); break;
+                    default: throw new GdxRuntimeException("Unknown rule " + parts[1] + " on line " + (i + 1) + " of " + source);
+                }
+            } else {
+                throw new GdxRuntimeException("Incomplete rule on line " + (i + 1) + " of " + source);
+            }
+            rules.count++;
+        }
+    }
+
+    /**
+     * @param file a filter file, such as {@code inoffensive.filter}
+     * @return the filter it describes
+     */
+    public static EmojiFilter load(FileHandle file) {
+        return new EmojiFilter(file.readString("UTF8"), file.path());
+    }
+
+    /**
+     * @param name     the emoji's name, from the JSON or the atlas
+     * @param emoji    the emoji itself, or null if it isn't known
+     * @param category the emoji's category, or null if it isn't known
+     * @return true if the emoji should be kept
+     */
+    public boolean accepts(String name, String emoji, String category) {
+        name = normalize(name);
+        if (exclude.matches(name, emoji, category)) return false;
+        return include.count == 0 || include.matches(name, emoji, category);
+    }
+
+    private static String normalize(String name) {
+        return name.replace('_', ' ');
+    }
+
+    /** True if emoji has a skin tone modifier, or if it isn't known and its name mentions a skin tone. */
+    private static boolean hasSkinTone(String name, String emoji) {
+        if (emoji == null) return name.contains("skin tone");
+        return emoji.codePoints().anyMatch(c -> c >= 0x1F3FB && c <= 0x1F3FF);
+    }
+}
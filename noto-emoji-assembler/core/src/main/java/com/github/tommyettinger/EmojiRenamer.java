@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Copies raw Noto Emoji images into the "renamed" folders that get packed into atlases. Each image is copied once to
+ * {@code emoji/} using its emoji as the file name, once to {@code name/} using its CLDR or ZWJ name, and once to
+ * {@code ignored/alias/} for each of its aliases.
+ * <br>
+ * Any combination of {@link Size}s can be renamed in one pass. Each codename is resolved to its emoji, name, and aliases
+ * only once, no matter how many sizes use it, and the file work is spread over a {@link ForkJoinPool}. By default,
+ * the renamed files are hard links to the raw images rather than copies; see {@link #outputMode}.
+ * <br>
+ * Each renamed folder keeps a {@link BuildManifest}, so a rerun skips every codename whose raw image and resolved entry
+ * are unchanged, and deletes files that no codename produces anymore; see {@link #incremental}.
+ */
+public class EmojiRenamer {
+    /**
+     * The sizes of raw emoji this can rename, with the directory each is read from, the one each is written to, and
+     * the atlas project that packs it. All are relative to the repo root, which is {@code ../../} from the assets
+     * folder.
+     */
+    public enum Size {
+        SMALL(Main.RAW_SMALL_DIR, "renamed-small-", "atlas-small-"),
+        MID(Main.RAW_MID_DIR, "renamed-mid-", "atlas-mid-"),
+        LARGE(Main.RAW_DIR, "renamed-", "atlas-large-");
+
+        public final String rawDir;
+        public final String renamedPrefix;
+        public final String atlasPrefix;
+
+        Size(String rawDir, String renamedPrefix, String atlasPrefix) {
+            this.rawDir = rawDir;
+            this.renamedPrefix = renamedPrefix;
+            this.atlasPrefix = atlasPrefix;
+        }
+
+        public FileHandle rawDir() {
+            return Gdx.files.local("../../" + rawDir + "/");
+        }
+
+        public FileHandle renamedDir() {
+            return Gdx.files.local("../../" + renamedPrefix + Main.TYPE + "/");
+        }
+
+        /** The folder the packed atlas for this size goes in, which holds {@code noto-emoji.atlas} and its pages. */
+        public FileHandle atlasDir() {
+            return Gdx.files.local("../../" + atlasPrefix + Main.TYPE + "/");
+        }
+
+        /** The gdx-texturepacker-gui project for this size, which {@link AtlasPacker} reads its settings from. */
+        public FileHandle project() {
+            return Gdx.files.local("../../" + atlasPrefix + Main.TYPE + ".tpproj");
+        }
+    }
+
+    /**
+     * Everything one codename needs to be copied to its final names. Only fully-resolved entries are created, so
+     * {@link #emoji} and {@link #name} are never null; {@link #aliases} may be empty but is never null.
+     */
+    public static final class Entry {
+        public final String codename;
+        public final String emoji;
+        public final String name;
+        public final String[] aliases;
+
+        public Entry(String codename, String emoji, String name, String[] aliases) {
+            this.codename = codename;
+            this.emoji = emoji;
+            this.name = name;
+            this.aliases = aliases;
+        }
+    }
+
+    private static final String[] NO_ALIASES = new String[0];
+
+    private final Map<String, String> strippedToEmojiMap;
+    private final Map<String, String> knownMap;
+    private final Map<String, String[]> aliasMap;
+    private final ZwjNames zwjNames;
+
+    /**
+     * How many threads to copy files with; file copying is mostly waiting on the disk, so this defaults to more threads
+     * than there are cores.
+     */
+    public int parallelism = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * How each renamed file is written; defaults to {@link OutputMode#HARD_LINK}, which falls back to copying where
+     * links aren't possible. Targets that are already up-to-date are skipped in every mode.
+     */
+    public OutputMode outputMode = OutputMode.HARD_LINK;
+
+    /**
+     * If true (the default), the {@link BuildManifest} in each renamed folder is used to skip unchanged codenames and to
+     * delete stale outputs. If false, every file is placed as if there were no manifest, though a new one is still
+     * written.
+     */
+    public boolean incremental = true;
+
+    /**
+     * If non-null, only the entries this accepts are renamed, and any files from entries it doesn't accept are deleted
+     * as stale, so the renamed folders hold just a subset of the emoji. Defaults to null, which renames everything.
+     */
+    public Predicate<Entry> filter;
+
+    public EmojiRenamer(Map<String, String> strippedToEmojiMap, Map<String, String> knownMap,
+                        Map<String, String[]> aliasMap, ZwjNames zwjNames) {
+        this.strippedToEmojiMap = strippedToEmojiMap;
+        this.knownMap = knownMap;
+        this.aliasMap = aliasMap;
+        this.zwjNames = zwjNames;
+    }
+
+    /**
+     * Looks up the emoji, name, and aliases for a codename such as {@code emoji_u1f44d}, printing a warning and
+     * returning null if either the emoji or the name can't be found.
+     *
+     * @param codename the file name of a raw image, without extension
+     * @return a fully-resolved Entry, or null if this codename can't be renamed
+     */
+    public Entry resolve(String codename) {
+        String emoji = strippedToEmojiMap.get(codename);
+        if(emoji == null) {
+            System.out.println("WHOOPS, codename " + codename + " has no emoji!");
+            return null;
+        }
+        String name = zwjNames.get(emoji);
+        if(name == null){
+            name = knownMap.get(codename);
+        }
+        if(name == null){
+            System.out.println("WHAT! Emoji '" + emoji + "' has no name, but has codename " + codename + ", reconstructed to " + Main.emojiToCodePoints(emoji) + " .");
+            return null;
+        }
+        String[] aliases = aliasMap.get(codename);
+        return new Entry(codename, emoji, name, aliases == null ? NO_ALIASES : aliases);
+    }
+
+    /**
+     * Renames every raw image of each given size. Codenames shared between sizes are only resolved once.
+     *
+     * @param sizes which sizes to rename; typically {@code EnumSet.allOf(Size.class)}
+     */
+    public void rename(Set<Size> sizes) {
+        LinkedHashMap<FileHandle, FileHandle> folders = new LinkedHashMap<>(sizes.size() * 2);
+        for (Size size : sizes) {
+            folders.put(size.renamedDir(), size.rawDir());
+        }
+        rename(folders);
+    }
+
+    /**
+     * Renames every raw image in one folder into another, which is laid out like the renamed folder of a {@link Size}.
+     *
+     * @param rawDir     a folder of raw images named by codename
+     * @param renamedDir where the {@code emoji/}, {@code name/}, and {@code ignored/alias/} folders go
+     */
+    public void rename(FileHandle rawDir, FileHandle renamedDir) {
+        LinkedHashMap<FileHandle, FileHandle> folders = new LinkedHashMap<>(2);
+        folders.put(renamedDir, rawDir);
+        rename(folders);
+    }
+
+    /**
+     * Renames every raw image in one folder, splitting them between several folders that are each laid out like the
+     * renamed folder of a {@link Size}. Every codename is resolved once, however many folders there are.
+     *
+     * @param rawDir   a folder of raw images named by codename
+     * @param folderOf gets the folder an entry should be renamed into, where its {@code emoji/}, {@code name/}, and
+     *                 {@code ignored/alias/} folders go
+     * @return every folder that at least one entry was renamed into, in the order they were first used
+     */
+    public Set<FileHandle> rename(FileHandle rawDir, Function<Entry, FileHandle> folderOf) {
+        LinkedHashMap<FileHandle, List<FileHandle>> rawFiles = new LinkedHashMap<>(32);
+        HashMap<String, Entry> entries = new HashMap<>(4096);
+        for (FileHandle original : rawDir.list(".png")) {
+            Entry entry = resolve(original.nameWithoutExtension());
+            if (entry == null || (filter != null && !filter.test(entry))) continue;
+            entries.put(entry.codename, entry);
+            rawFiles.computeIfAbsent(folderOf.apply(entry), k -> new ArrayList<>()).add(original);
+        }
+        rename(rawFiles, entries);
+        return rawFiles.keySet();
+    }
+
+    private void rename(Map<FileHandle, FileHandle> folders) {
+        LinkedHashMap<FileHandle, List<FileHandle>> rawFiles = new LinkedHashMap<>(folders.size() * 2);
+        HashMap<String, Entry> entries = new HashMap<>(4096);
+        for (Map.Entry<FileHandle, FileHandle> folder : folders.entrySet()) {
+            FileHandle[] files = folder.getValue().list(".png");
+            rawFiles.put(folder.getKey(), Arrays.asList(files));
+            for (FileHandle original : files) {
+                String codename = original.nameWithoutExtension();
+                if(!entries.containsKey(codename))
+                    entries.put(codename, resolve(codename));
+            }
+        }
+        rename(rawFiles, entries);
+    }
+
+    /**
+     * Places the raw images for each renamed folder, using and updating its manifest.
+     *
+     * @param rawFiles the raw images that go in each renamed folder
+     * @param entries  the resolved entry for each codename, or null for codenames that can't be renamed
+     */
+    private void rename(LinkedHashMap<FileHandle, List<FileHandle>> rawFiles, HashMap<String, Entry> entries) {
+        int total = 0;
+        for (List<FileHandle> files : rawFiles.values()) {
+            total += files.size();
+        }
+        AtomicInteger written = new AtomicInteger(), skipped = new AtomicInteger(), unchanged = new AtomicInteger();
+        HashMap<FileHandle, BuildManifest> oldManifests = new HashMap<>(), newManifests = new HashMap<>();
+        ArrayList<Callable<Void>> jobs = new ArrayList<>(total);
+        for (Map.Entry<FileHandle, List<FileHandle>> pair : rawFiles.entrySet()) {
+            FileHandle renamed = pair.getKey();
+            FileHandle emojiDir = renamed.child("emoji"), nameDir = renamed.child("name"),
+                    aliasDir = renamed.child("ignored/alias");
+            // Made up-front so the workers never race each other to create the same directory.
+            emojiDir.mkdirs();
+            nameDir.mkdirs();
+            aliasDir.mkdirs();
+            BuildManifest oldManifest = incremental
+                    ? BuildManifest.load(renamed.child(BuildManifest.FILE_NAME)) : new BuildManifest();
+            BuildManifest newManifest = new BuildManifest();
+            oldManifests.put(renamed, oldManifest);
+            newManifests.put(renamed, newManifest);
+            // Some names are shared by more than one codename. Like renaming one file at a time would, the last
+            // codename in listing order gets each shared file, and it is the only one that writes or records it.
+            HashMap<String, String> owners = new HashMap<>(total * 3);
+            for (FileHandle original : pair.getValue()) {
+                Entry entry = entries.get(original.nameWithoutExtension());
+                if(entry == null || (filter != null && !filter.test(entry))) continue;
+                for (String output : outputs(entry)) {
+                    owners.put(output, entry.codename);
+                }
+            }
+            for (FileHandle original : pair.getValue()) {
+                Entry entry = entries.get(original.nameWithoutExtension());
+                if(entry == null || (filter != null && !filter.test(entry))) continue;
+                ArrayList<String> owned = new ArrayList<>(4);
+                for (String output : outputs(entry)) {
+                    if (entry.codename.equals(owners.get(output)) && !owned.contains(output)) owned.add(output);
+                }
+                String[] outputs = owned.toArray(new String[0]);
+                jobs.add(() -> {
+                    long contentHash = BuildManifest.hashFile(original), entryHash = BuildManifest.hashEntry(entry);
+                    newManifest.put(entry.codename, new BuildManifest.Record(contentHash, entryHash, outputs));
+                    BuildManifest.Record before = oldManifest.get(entry.codename);
+                    if (before != null && before.sameInputs(contentHash, entryHash)
+                            && Arrays.equals(before.outputs, outputs) && allExist(renamed, outputs)) {
+                        unchanged.incrementAndGet();
+                        return null;
+                    }
+                    for (String output : outputs) {
+                        FileHandle target = renamed.child(output);
+                        // A known codename with a changed image, or one that just took over a shared file, can't trust
+                        // the size and date check in place().
+                        if (before != null && (before.contentHash != contentHash
+                                || !Arrays.asList(before.outputs).contains(output))) target.delete();
+                        place(original, target, written, skipped);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            for (Future<Void> f : pool.invokeAll(jobs)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        int deleted = 0;
+        for (FileHandle renamed : rawFiles.keySet()) {
+            deleted += oldManifests.get(renamed).deleteStale(renamed, newManifests.get(renamed));
+            newManifests.get(renamed).save(renamed.child(BuildManifest.FILE_NAME));
+        }
+        System.out.println("Renamed " + jobs.size() + " images across " + rawFiles.size() + " folder(s); " + unchanged.get()
+                + " were unchanged since the last run. Wrote " + written.get() + " files, skipped " + skipped.get()
+                + " that were up-to-date, and deleted " + deleted + " stale files.");
+    }
+
+    /** Every file an entry would be renamed to, relative to a renamed folder. */
+    private static String[] outputs(Entry entry) {
+        String[] outputs = new String[2 + entry.aliases.length];
+        outputs[0] = "emoji/" + entry.emoji + ".png";
+        outputs[1] = "name/" + entry.name + ".png";
+        for (int i = 0; i < entry.aliases.length; i++) {
+            outputs[i + 2] = "ignored/alias/" + entry.aliases[i] + ".png";
+        }
+        return outputs;
+    }
+
+    private static boolean allExist(FileHandle dir, String[] outputs) {
+        for (String output : outputs) {
+            if (!dir.child(output).exists()) return false;
+        }
+        return true;
+    }
+
+    private void place(FileHandle original, FileHandle target, AtomicInteger written, AtomicInteger skipped) {
+        if (outputMode.place(original, target))
+            written.incrementAndGet();
+        else
+            skipped.incrementAndGet();
+    }
+}
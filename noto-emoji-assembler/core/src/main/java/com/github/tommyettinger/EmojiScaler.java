@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.*;
+
+/**
+ * Resizes and sharpens emoji images in the JVM, following the {@code magick mogrify} recipes in the docs for
+ * {@link Main}, so the 32x32 and 24x24 folders can be made from the 72x72 ones without ImageMagick. A recipe is
+ * written just like the ImageMagick arguments, such as {@code "-resize 32x32 -sharpen 0x2.0"}, and these are
+ * understood:
+ * <ul>
+ *     <li>{@code -channel RGBA} or {@code -channel RGB}, which sets whether later steps change alpha (by default,
+ *     they do, as in ImageMagick 7)</li>
+ *     <li>{@code -blur RADIUSxSIGMA}</li>
+ *     <li>{@code -sharpen RADIUSxSIGMA}</li>
+ *     <li>{@code -unsharp RADIUSxSIGMA+AMOUNT+THRESHOLD}, where AMOUNT defaults to 1.0 and THRESHOLD to 0.05</li>
+ *     <li>{@code -resize WIDTHxHEIGHT}, which keeps the aspect ratio and fits inside that size</li>
+ * </ul>
+ * A radius of 0 picks one from sigma, like ImageMagick does. Each step works the way ImageMagick's does: color is
+ * weighted by alpha when it is blurred or resampled, edges repeat the outermost pixels, resizing uses the Mitchell
+ * filter (ImageMagick's choice for any image with alpha, which every emoji has), and values are clamped after each
+ * step. The results are close to ImageMagick's, but not bit-for-bit the same.
+ * <br>
+ * Images are split across a thread pool, one job per image; see {@link #parallelism}.
+ */
+public class EmojiScaler {
+    /** The smallest weight total that is divided by, as in ImageMagick; anything closer to 0 is treated as this. */
+    private static final double EPSILON = 1.0e-12;
+    /** How small the edge of a Gaussian kernel must be, relative to its total, for the kernel to stop growing. */
+    private static final double QUANTUM_SCALE = 1.0 / 65535.0;
+
+    /** One image as four float channels from 0 to 1, in R, G, B, A order, each row-major. */
+    private static final class Image {
+        final int width, height;
+        final float[][] channels;
+
+        Image(int width, int height) {
+            this.width = width;
+            this.height = height;
+            channels = new float[4][width * height];
+        }
+    }
+
+    /** One step of a recipe. */
+    private interface Step {
+        Image apply(Image image);
+    }
+
+    /** The recipe this was made with. */
+    public final String recipe;
+    private final ArrayList<Step> steps = new ArrayList<>(4);
+
+    /** How many images can be processed at once; defaults to the number of cores. */
+    public int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param recipe ImageMagick-style arguments, such as {@code "-unsharp 0x2.0+2.0 -resize 24x24"}
+     */
+    public EmojiScaler(String recipe) {
+        this.recipe = recipe;
+        String[] args = recipe.trim().split("\\s+");
+        boolean alpha = true;
+        for (int i = 0; i < args.length; i++) {
+            String op = args[i];
+            if (i + 1 >= args.length)
+                throw new GdxRuntimeException("Missing the argument for " + op + " in recipe: " + recipe);
+            String arg = args[++i];
+            boolean withAlpha = alpha;
+            switch (op) {
+                case "-channel":
+                    if ("RGBA".equalsIgnoreCase(arg)) alpha = true;
+                    else if ("RGB".equalsIgnoreCase(arg)) alpha = false;
+                    else throw new GdxRuntimeException("Unsupported channels " + arg + " in recipe: " + recipe);
+                    break;
+                case "-blur": {
+                    double[] g = parseGeometry(arg, recipe);
+                    steps.add(image -> blur(image, g[0], g[1], withAlpha));
+                    break;
+                }
+                case "-sharpen": {
+                    double[] g = parseGeometry(arg, recipe);
+                    steps.add(image -> sharpen(image, g[0], g[1], withAlpha));
+                    break;
+                }
+                case "-unsharp": {
+                    double[] g = parseGeometry(arg, recipe);
+                    steps.add(image -> unsharp(image, g[0], g[1], g[2], g[3], withAlpha));
+                    break;
+                }
+                case "-resize": {
+                    int x = arg.indexOf('x');
+                    if (x < 0) throw new GdxRuntimeException("Expected WIDTHxHEIGHT after -resize in recipe: " + recipe);
+                    int width = Integer.parseInt(arg.substring(0, x)), height = Integer.parseInt(arg.substring(x + 1));
+                    steps.add(image -> resize(image, width, height));
+                    break;
+                }
+                default:
+                    throw new GdxRuntimeException("Unsupported option " + op + " in recipe: " + recipe);
+            }
+        }
+    }
+
+    /**
+     * Parses {@code RADIUSxSIGMA+AMOUNT+THRESHOLD}, where everything after SIGMA is optional.
+     *
+     * @return radius, sigma, amount, and threshold, in that order
+     */
+    private static double[] parseGeometry(String arg, String recipe) {
+        double[] g = {0.0, 1.0, 1.0, 0.05};
+        try {
+            String[] parts = arg.split("\\+");
+            int x = parts[0].indexOf('x');
+            if (x < 0) {
+                g[0] = Double.parseDouble(parts[0]);
+            } else {
+                if (x > 0) g[0] = Double.parseDouble(parts[0].substring(0, x));
+                g[1] = Double.parseDouble(parts[0].substring(x + 1));
+            }
+            for (int i = 1; i < parts.length && i < 3; i++) {
+                g[i + 1] = Double.parseDouble(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw new GdxRuntimeException("Couldn't read " + arg + " in recipe: " + recipe, e);
+        }
+        return g;
+    }
+
+    /**
+     * Runs the recipe on one image.
+     *
+     * @param pixmap any Pixmap; it is not changed or disposed
+     * @return a new RGBA8888 Pixmap, which the caller must dispose
+     */
+    public Pixmap apply(Pixmap pixmap) {
+        Image image = read(pixmap);
+        for (Step step : steps) {
+            image = step.apply(image);
+        }
+        return write(image);
+    }
+
+    /**
+     * Runs the recipe on every PNG in sourceDir, writing each result to a file with the same name in targetDir, then
+     * waits for all of them to finish.
+     *
+     * @param sourceDir a folder of PNG images, such as {@code noto-emoji-72x72-color/}
+     * @param targetDir where to write; files already there with the same names are replaced
+     * @return how many images were written
+     */
+    public int scale(FileHandle sourceDir, FileHandle targetDir) {
+        long start = System.currentTimeMillis();
+        FileHandle[] files = sourceDir.list(".png");
+        targetDir.mkdirs();
+        // PixmapIO.PNG keeps its buffers between writes, but can only be used by one thread at a time.
+        ThreadLocal<PixmapIO.PNG> encoders = ThreadLocal.withInitial(() -> {
+            PixmapIO.PNG png = new PixmapIO.PNG();
+            png.setFlipY(false);
+            return png;
+        });
+        ArrayList<Callable<Void>> jobs = new ArrayList<>(files.length);
+        for (FileHandle file : files) {
+            jobs.add(() -> {
+                Pixmap source = new Pixmap(file);
+                Pixmap result = apply(source);
+                source.dispose();
+                try {
+                    encoders.get().write(targetDir.child(file.name()), result);
+                } catch (IOException e) {
+                    throw new GdxRuntimeException("Couldn't write " + targetDir.child(file.name()), e);
+                } finally {
+                    result.dispose();
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            for (Future<Void> f : executor.invokeAll(jobs)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        System.out.println("Scaled " + files.length + " images from " + sourceDir.name() + " to " + targetDir.name()
+                + " with \"" + recipe + "\" in " + (System.currentTimeMillis() - start) + " ms.");
+        return files.length;
+    }
+
+    private static Image read(Pixmap pixmap) {
+        int width = pixmap.getWidth(), height = pixmap.getHeight();
+        Image image = new Image(width, height);
+        float[] r = image.channels[0], g = image.channels[1], b = image.channels[2], a = image.channels[3];
+        if (pixmap.getFormat() == Pixmap.Format.RGBA8888) {
+            ByteBuffer pixels = pixmap.getPixels();
+            for (int i = 0, p = 0; i < width * height; i++) {
+                r[i] = (pixels.get(p++) & 255) / 255f;
+                g[i] = (pixels.get(p++) & 255) / 255f;
+                b[i] = (pixels.get(p++) & 255) / 255f;
+                a[i] = (pixels.get(p++) & 255) / 255f;
+            }
+        } else {
+            for (int y = 0, i = 0; y < height; y++) {
+                for (int x = 0; x < width; x++, i++) {
+                    int rgba = pixmap.getPixel(x, y);
+                    r[i] = (rgba >>> 24) / 255f;
+                    g[i] = (rgba >>> 16 & 255) / 255f;
+                    b[i] = (rgba >>> 8 & 255) / 255f;
+                    a[i] = (rgba & 255) / 255f;
+                }
+            }
+        }
+        return image;
+    }
+
+    private static Pixmap write(Image image) {
+        Pixmap pixmap = new Pixmap(image.width, image.height, Pixmap.Format.RGBA8888);
+        ByteBuffer pixels = pixmap.getPixels();
+        for (int i = 0, p = 0; i < image.width * image.height; i++) {
+            for (int c = 0; c < 4; c++) {
+                pixels.put(p++, (byte) Math.round(image.channels[c][i] * 255f));
+            }
+        }
+        return pixmap;
+    }
+
+    private static float clamp(double v) {
+        return v <= 0.0 ? 0f : v >= 1.0 ? 1f : (float) v;
+    }
+
+    /** Like ImageMagick's PerceptibleReciprocal(), this avoids dividing by almost-0 without changing the sign. */
+    private static double reciprocal(double v) {
+        return Math.abs(v) >= EPSILON ? 1.0 / v : (v < 0.0 ? -1.0 : 1.0) / EPSILON;
+    }
+
+    /**
+     * The width ImageMagick gives a Gaussian kernel for sigma when the radius is 0: the narrowest odd width whose edge
+     * weight is still perceptible. Two-dimensional kernels, as used by sharpen, are measured over the whole square.
+     */
+    private static int kernelWidth(double radius, double sigma, boolean twoDimensional) {
+        if (radius > EPSILON) return 2 * (int) Math.ceil(radius) + 1;
+        double gamma = Math.abs(sigma);
+        if (gamma <= EPSILON) return 3;
+        double alpha = 1.0 / (2.0 * gamma * gamma);
+        int width = 5;
+        while (true) {
+            int j = (width - 1) / 2;
+            double normalize = 0.0;
+            for (int v = -j; v <= j; v++) {
+                if (twoDimensional) {
+                    for (int u = -j; u <= j; u++) {
+                        normalize += Math.exp(-(u * u + v * v) * alpha);
+                    }
+                } else {
+                    normalize += Math.exp(-(v * v) * alpha);
+                }
+            }
+            double value = Math.exp(-(j * j) * alpha) / normalize;
+            if (value < QUANTUM_SCALE || value < EPSILON) break;
+            width += 2;
+        }
+        return width - 2;
+    }
+
+    /** A one-dimensional Gaussian kernel that sums to 1. */
+    private static double[] gaussian(int width, double sigma) {
+        double[] kernel = new double[width];
+        int j = width / 2;
+        double sum = 0.0, alpha = 1.0 / (2.0 * sigma * sigma);
+        for (int i = 0; i < width; i++) {
+            sum += kernel[i] = Math.exp(-((i - j) * (i - j)) * alpha);
+        }
+        for (int i = 0; i < width; i++) {
+            kernel[i] /= sum;
+        }
+        return kernel;
+    }
+
+    /**
+     * Convolves a channel with the same kernel along x and then along y, repeating edge pixels.
+     */
+    private static double[] convolve(double[] src, int width, int height, double[] kernel) {
+        int j = kernel.length / 2;
+        double[] across = new double[src.length], out = new double[src.length];
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            for (int x = 0; x < width; x++) {
+                double sum = 0.0;
+                for (int k = 0; k < kernel.length; k++) {
+                    sum += kernel[k] * src[row + Math.min(Math.max(x + k - j, 0), width - 1)];
+                }
+                across[row + x] = sum;
+            }
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double sum = 0.0;
+                for (int k = 0; k < kernel.length; k++) {
+                    sum += kernel[k] * across[Math.min(Math.max(y + k - j, 0), height - 1) * width + x];
+                }
+                out[y * width + x] = sum;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Blurs color weighted by alpha, so transparent pixels don't darken their neighbors.
+     *
+     * @return the blurred color channels, then the blurred alpha
+     */
+    private static double[][] blurred(Image image, double[] kernel) {
+        int size = image.width * image.height;
+        float[] a = image.channels[3];
+        double[] alpha = new double[size];
+        for (int i = 0; i < size; i++) {
+            alpha[i] = a[i];
+        }
+        double[][] out = new double[4][];
+        for (int c = 0; c < 3; c++) {
+            float[] channel = image.channels[c];
+            double[] weighted = new double[size];
+            for (int i = 0; i < size; i++) {
+                weighted[i] = channel[i] * alpha[i];
+            }
+            out[c] = convolve(weighted, image.width, image.height, kernel);
+        }
+        out[3] = convolve(alpha, image.width, image.height, kernel);
+        return out;
+    }
+
+    private static Image blur(Image image, double radius, double sigma, boolean withAlpha) {
+        double[][] blurred = blurred(image, gaussian(kernelWidth(radius, sigma, false), sigma));
+        Image out = new Image(image.width, image.height);
+        for (int i = 0; i < image.width * image.height; i++) {
+            double gamma = reciprocal(blurred[3][i]);
+            for (int c = 0; c < 3; c++) {
+                out.channels[c][i] = clamp(blurred[c][i] * gamma);
+            }
+            out.channels[3][i] = withAlpha ? clamp(blurred[3][i]) : image.channels[3][i];
+        }
+        return out;
+    }
+
+    /**
+     * ImageMagick's sharpen kernel is a negated 2D Gaussian whose center is replaced with twice the Gaussian's total,
+     * normalized to sum to 1. With the Gaussian normalized to g, and c0 as its center weight, that kernel is
+     * {@code ((2 + c0) * identity - g) / (1 + c0)}, which can be applied with the separable g.
+     */
+    private static Image sharpen(Image image, double radius, double sigma, boolean withAlpha) {
+        double[] kernel = gaussian(kernelWidth(radius, sigma, true), sigma);
+        double center = kernel[kernel.length / 2] * kernel[kernel.length / 2], scale = 2.0 + center;
+        double[][] blurred = blurred(image, kernel);
+        float[] a = image.channels[3];
+        Image out = new Image(image.width, image.height);
+        for (int i = 0; i < image.width * image.height; i++) {
+            double alpha = scale * a[i] - blurred[3][i], gamma = reciprocal(alpha);
+            for (int c = 0; c < 3; c++) {
+                out.channels[c][i] = clamp((scale * image.channels[c][i] * a[i] - blurred[c][i]) * gamma);
+            }
+            out.channels[3][i] = withAlpha ? clamp(alpha / (1.0 + center)) : a[i];
+        }
+        return out;
+    }
+
+    /**
+     * Adds amount times the difference between each pixel and its blurred self, except where that difference is too
+     * small to pass the threshold, as ImageMagick's unsharp mask does.
+     */
+    private static Image unsharp(Image image, double radius, double sigma, double amount, double threshold,
+                                 boolean withAlpha) {
+        double[][] blurred = blurred(image, gaussian(kernelWidth(radius, sigma, false), sigma));
+        Image out = new Image(image.width, image.height);
+        for (int i = 0; i < image.width * image.height; i++) {
+            double gamma = reciprocal(blurred[3][i]);
+            for (int c = 0; c < 4; c++) {
+                double original = image.channels[c][i];
+                if (c == 3 && !withAlpha) {
+                    out.channels[c][i] = (float) original;
+                    continue;
+                }
+                double difference = original - (c == 3 ? blurred[3][i] : blurred[c][i] * gamma);
+                out.channels[c][i] = Math.abs(2.0 * difference) < threshold
+                        ? (float) original : clamp(original + amount * difference);
+            }
+        }
+        return out;
+    }
+
+    /** The Mitchell-Netravali cubic with B and C both 1/3, which has a support of 2. */
+    private static double mitchell(double x) {
+        final double b = 1.0 / 3.0, c = 1.0 / 3.0;
+        x = Math.abs(x);
+        if (x < 1.0)
+            return ((12.0 - 9.0 * b - 6.0 * c) * x * x * x + (-18.0 + 12.0 * b + 6.0 * c) * x * x + (6.0 - 2.0 * b)) / 6.0;
+        if (x < 2.0)
+            return ((-b - 6.0 * c) * x * x * x + (6.0 * b + 30.0 * c) * x * x + (-12.0 * b - 48.0 * c) * x
+                    + (8.0 * b + 24.0 * c)) / 6.0;
+        return 0.0;
+    }
+
+    private static Image resize(Image image, int maxWidth, int maxHeight) {
+        double factor = Math.min(maxWidth / (double) image.width, maxHeight / (double) image.height);
+        int width = Math.max(1, (int) Math.floor(image.width * factor + 0.5)),
+                height = Math.max(1, (int) Math.floor(image.height * factor + 0.5));
+        // ImageMagick filters the direction that leaves less work for the second pass first; square images go
+        // vertically first.
+        if ((long) width * (image.height + height) > (long) height * (image.width + width))
+            return resample(resample(image, width, true), height, false);
+        return resample(resample(image, height, false), width, true);
+    }
+
+    /**
+     * Resamples along one axis with the Mitchell filter, widened when shrinking so every source pixel counts, and
+     * with color weighted by alpha.
+     */
+    private static Image resample(Image image, int length, boolean horizontal) {
+        int oldLength = horizontal ? image.width : image.height;
+        Image out = horizontal ? new Image(length, image.height) : new Image(image.width, length);
+        if (length == oldLength) {
+            for (int c = 0; c < 4; c++) {
+                System.arraycopy(image.channels[c], 0, out.channels[c], 0, image.channels[c].length);
+            }
+            return out;
+        }
+        double factor = length / (double) oldLength;
+        double scale = Math.max(1.0 / factor + EPSILON, 1.0), support = scale * 2.0;
+        int lines = horizontal ? image.height : image.width;
+        int step = horizontal ? 1 : image.width, lineStep = horizontal ? image.width : 1;
+        int outStep = horizontal ? 1 : out.width, outLineStep = horizontal ? out.width : 1;
+        float[] a = image.channels[3];
+        double[] weights = new double[(int) Math.ceil(2.0 * support) + 3];
+        for (int x = 0; x < length; x++) {
+            double bisect = (x + 0.5) / factor + EPSILON;
+            int start = (int) Math.max(bisect - support + 0.5, 0.0), stop = (int) Math.min(bisect + support + 0.5, oldLength);
+            int count = stop - start;
+            double density = 0.0;
+            for (int n = 0; n < count; n++) {
+                density += weights[n] = mitchell((start + n - bisect + 0.5) / scale);
+            }
+            if (density != 0.0 && density != 1.0) {
+                for (int n = 0; n < count; n++) {
+                    weights[n] /= density;
+                }
+            }
+            for (int line = 0; line < lines; line++) {
+                int base = line * lineStep + start * step;
+                double r = 0.0, g = 0.0, b = 0.0, alpha = 0.0;
+                for (int n = 0, i = base; n < count; n++, i += step) {
+                    double w = weights[n] * a[i];
+                    r += w * image.channels[0][i];
+                    g += w * image.channels[1][i];
+                    b += w * image.channels[2][i];
+                    alpha += w;
+                }
+                double gamma = reciprocal(alpha);
+                int o = line * outLineStep + x * outStep;
+                out.channels[0][o] = clamp(r * gamma);
+                out.channels[1][o] = clamp(g * gamma);
+                out.channels[2][o] = clamp(b * gamma);
+                out.channels[3][o] = clamp(alpha);
+            }
+        }
+        return out;
+    }
+}
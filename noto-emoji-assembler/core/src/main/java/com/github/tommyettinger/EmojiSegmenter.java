@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntSet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Finds emoji in text by walking a trie of every known emoji sequence, one code point at a time. It always finds the
+ * longest sequence starting at a position, so a ZWJ family, a flag, a keycap, or an emoji with a skin tone is found as
+ * one emoji rather than as its parts. Variation selector 16 (U+FE0F) is optional inside sequences: it is left out of
+ * the trie, and skipped in text (but counted in the match length) after the first code point of a sequence. A lone
+ * code point that is text by default, like {@code ©} or {@code ®}, is only an emoji when U+FE0F follows it; these get
+ * a U+FE0F edge to a terminal node with no children, so plain text keeps its symbols. Nothing allocates
+ * while matching, and text is scanned once from left to right, so splitting a message into emoji and text runs is one
+ * linear pass.
+ * <br>
+ * The trie is built at assembly time from {@code emoji-zwj-sequences.txt}, the emoji in {@code stripped-to-emoji.json},
+ * and the fully-qualified emoji in {@code emoji_15_1.json}, and stored compactly: each node's children are a sorted run
+ * of an edge array, found by binary search.
+ */
+public class EmojiSegmenter {
+    public static final String EXTENSION = ".segmenter";
+    public static final int MAGIC = 0x4E45_5347; // "NESG"
+    public static final int VERSION = 1;
+
+    private static final int FE0F = 0xFE0F;
+
+    /** Node i's children are edges {@code firstEdge[i]} inclusive to {@code firstEdge[i+1]} exclusive. */
+    private final int[] firstEdge;
+    /** One bit per node; set if a sequence ends at that node. */
+    private final int[] terminal;
+    /** The code point each edge matches; sorted within each node's run. */
+    private final int[] edgeCodePoints;
+    /** The node each edge leads to. */
+    private final int[] edgeTargets;
+
+    private EmojiSegmenter(int[] firstEdge, int[] terminal, int[] edgeCodePoints, int[] edgeTargets) {
+        this.firstEdge = firstEdge;
+        this.terminal = terminal;
+        this.edgeCodePoints = edgeCodePoints;
+        this.edgeTargets = edgeTargets;
+    }
+
+    /**
+     * Builds a segmenter that recognizes every given sequence, with or without any U+FE0F in it, except that a single
+     * code point given anywhere with U+FE0F after it is only recognized with that U+FE0F.
+     *
+     * @param sequences emoji strings, such as {@code "👨‍👦"} or {@code "#️⃣"}
+     * @return a new EmojiSegmenter
+     */
+    public static EmojiSegmenter build(Iterable<String> sequences) {
+        // Node 0 is the root; each node maps code points to child nodes.
+        ArrayList<IntIntMap> children = new ArrayList<>(8192);
+        children.add(new IntIntMap(1024));
+        IntArray ends = new IntArray();
+        // Single code points that are text by default, which are listed with U+FE0F when they should be emoji.
+        IntSet textDefault = new IntSet();
+        for (String seq : sequences) {
+            int cp = single(seq);
+            if (cp >= 0 && seq.indexOf(FE0F) >= 0) textDefault.add(cp);
+        }
+        for (String seq : sequences) {
+            int single = single(seq);
+            if (single >= 0 && textDefault.contains(single)) {
+                ends.add(childOf(children, childOf(children, 0, single), FE0F));
+                continue;
+            }
+            int node = 0;
+            for (int i = 0, n = seq.length(); i < n; ) {
+                int cp = seq.codePointAt(i);
+                i += Character.charCount(cp);
+                if (cp == FE0F) continue;
+                node = childOf(children, node, cp);
+            }
+            if (node != 0) ends.add(node);
+        }
+        int nodeCount = children.size(), edgeCount = nodeCount - 1;
+        int[] firstEdge = new int[nodeCount + 1];
+        int[] edgeCodePoints = new int[edgeCount], edgeTargets = new int[edgeCount];
+        int e = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            firstEdge[node] = e;
+            IntIntMap map = children.get(node);
+            int[] cps = map.keys().toArray().toArray();
+            Arrays.sort(cps);
+            for (int cp : cps) {
+                edgeCodePoints[e] = cp;
+                edgeTargets[e++] = map.get(cp, -1);
+            }
+        }
+        firstEdge[nodeCount] = e;
+        int[] terminal = new int[nodeCount + 31 >>> 5];
+        for (int i = 0; i < ends.size; i++) {
+            terminal[ends.get(i) >>> 5] |= 1 << ends.get(i);
+        }
+        return new EmojiSegmenter(firstEdge, terminal, edgeCodePoints, edgeTargets);
+    }
+
+    /** Gets or adds the child of node along cp. */
+    private static int childOf(ArrayList<IntIntMap> children, int node, int cp) {
+        int next = children.get(node).get(cp, -1);
+        if (next < 0) {
+            next = children.size();
+            children.add(new IntIntMap(4));
+            children.get(node).put(cp, next);
+        }
+        return next;
+    }
+
+    /** Gets the only code point in seq other than U+FE0F, or -1 if there isn't exactly one. */
+    private static int single(String seq) {
+        int found = -1;
+        for (int i = 0, n = seq.length(); i < n; ) {
+            int cp = seq.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp == FE0F) continue;
+            if (found >= 0) return -1;
+            found = cp;
+        }
+        return found;
+    }
+
+    /**
+     * Reads the emoji out of every sequence line in a Unicode {@code emoji-zwj-sequences.txt} or
+     * {@code emoji-sequences.txt} file, where each line starts with space-separated hex code points, then a semicolon.
+     * Ranges like {@code 231A..231B} are expanded. Comments and blank lines are skipped.
+     *
+     * @param file a Unicode emoji data file
+     * @return every emoji sequence listed in file
+     */
+    public static ArrayList<String> readSequences(FileHandle file) {
+        ArrayList<String> sequences = new ArrayList<>(2048);
+        StringBuilder sb = new StringBuilder(32);
+        try (BufferedReader reader = file.reader(1 << 14, "UTF8")) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int semi = line.indexOf(';');
+                if (line.startsWith("#") || semi <= 0) continue;
+                String points = line.substring(0, semi).trim();
+                int range = points.indexOf("..");
+                if (range > 0) {
+                    int lo = Integer.parseInt(points.substring(0, range), 16),
+                            hi = Integer.parseInt(points.substring(range + 2), 16);
+                    for (int cp = lo; cp <= hi; cp++) {
+                        sequences.add(new String(Character.toChars(cp)));
+                    }
+                    continue;
+                }
+                sb.setLength(0);
+                for (String hex : points.split("\\s+")) {
+                    sb.appendCodePoint(Integer.parseInt(hex, 16));
+                }
+                sequences.add(sb.toString());
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read emoji sequences from " + file, e);
+        }
+        return sequences;
+    }
+
+    private boolean isTerminal(int node) {
+        return (terminal[node >>> 5] & 1 << node) != 0;
+    }
+
+    private int child(int node, int codePoint) {
+        int lo = firstEdge[node], hi = firstEdge[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = lo + hi >>> 1, cp = edgeCodePoints[mid];
+            if (cp < codePoint) lo = mid + 1;
+            else if (cp > codePoint) hi = mid - 1;
+            else return edgeTargets[mid];
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the length, in chars, of the longest emoji sequence that starts at offset in text. Any U+FE0F inside or
+     * right after the sequence is counted in the length. A text-default code point, like {@code ©}, only matches if
+     * U+FE0F follows it.
+     *
+     * @param text   any CharSequence
+     * @param offset where in text to look for an emoji
+     * @return the length in chars of the emoji at offset, or 0 if there is no emoji there
+     */
+    public int match(CharSequence text, int offset) {
+        int node = 0, best = 0;
+        for (int i = offset, n = text.length(); i < n; ) {
+            int cp = Character.codePointAt(text, i);
+            if (cp == FE0F && node != 0) {
+                i++;
+                // Only a text-default code point has a U+FE0F child; it ends the match there but not the walk.
+                int selected = child(node, FE0F);
+                if (selected >= 0 && isTerminal(selected)) best = i - offset;
+            } else {
+                node = child(node, cp);
+                if (node < 0) break;
+                i += Character.charCount(cp);
+            }
+            if (isTerminal(node)) best = i - offset;
+        }
+        return best;
+    }
+
+    /**
+     * Finds the next emoji at or after from. The result packs the start index into the upper 32 bits and the length
+     * into the lower 32 bits, so nothing needs to be allocated; use {@code (int)(result >>> 32)} for the start and
+     * {@code (int)result} for the length.
+     *
+     * @param text any CharSequence
+     * @param from the first index to check
+     * @return the start and length of the next emoji, packed into a long, or -1 if there are no more emoji
+     */
+    public long find(CharSequence text, int from) {
+        for (int i = from, n = text.length(); i < n; ) {
+            int len = match(text, i);
+            if (len > 0) return (long) i << 32 | len;
+            i += Character.charCount(Character.codePointAt(text, i));
+        }
+        return -1L;
+    }
+
+    public int getNodeCount() {
+        return firstEdge.length - 1;
+    }
+
+    /**
+     * Saves this to a little-endian binary file: {@link #MAGIC}, {@link #VERSION}, node count, and edge count, then
+     * the first edge of each node plus one end position, the terminal bits, the edge code points, and the edge targets.
+     *
+     * @param file where to write; will be overwritten
+     */
+    public void save(FileHandle file) {
+        int nodes = firstEdge.length - 1, edges = edgeCodePoints.length;
+        ByteBuffer bb = ByteBuffer.allocate((4 + nodes + 1 + terminal.length + edges * 2) * 4).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(MAGIC).putInt(VERSION).putInt(nodes).putInt(edges);
+        bb.asIntBuffer().put(firstEdge).put(terminal).put(edgeCodePoints).put(edgeTargets);
+        file.writeBytes(bb.array(), false);
+    }
+
+    /**
+     * Loads a segmenter saved by {@link #save(FileHandle)}.
+     *
+     * @param file a {@link #EXTENSION} file
+     * @return a new EmojiSegmenter
+     */
+    public static EmojiSegmenter load(FileHandle file) {
+        ByteBuffer bb = ByteBuffer.wrap(file.readBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        if (bb.getInt() != MAGIC || bb.getInt() != VERSION)
+            throw new GdxRuntimeException("Not a version " + VERSION + " emoji segmenter: " + file);
+        int nodes = bb.getInt(), edges = bb.getInt();
+        int[] firstEdge = new int[nodes + 1], terminal = new int[nodes + 31 >>> 5],
+                edgeCodePoints = new int[edges], edgeTargets = new int[edges];
+        bb.asIntBuffer().get(firstEdge).get(terminal).get(edgeCodePoints).get(edgeTargets);
+        return new EmojiSegmenter(firstEdge, terminal, edgeCodePoints, edgeTargets);
+    }
+}
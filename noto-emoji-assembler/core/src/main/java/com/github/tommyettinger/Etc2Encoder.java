@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.concurrent.*;
+
+/**
+ * Encodes images as ETC2 RGBA8 ({@code GL_COMPRESSED_RGBA8_ETC2_EAC}) and writes them in KTX (version 1) files, which
+ * libGDX loads with an ordinary {@link com.badlogic.gdx.graphics.Texture} on GLES 3 devices. Each 4x4 block takes 16
+ * bytes, a quarter of what RGBA8888 takes in video memory, and needs no PNG decoding when loaded.
+ * <br>
+ * Alpha is encoded as EAC, searching every modifier table. Color uses the individual and differential modes shared
+ * with ETC1, trying both subblock orientations; the T, H, and planar modes that only ETC2 has are never written, which
+ * keeps the encoder simple at some cost in quality for blocks with very different colors. Fully transparent blocks are
+ * written as transparent black.
+ * <br>
+ * Blocks are encoded in parallel, each job taking a band of block rows; the output doesn't depend on
+ * {@link #parallelism}.
+ */
+public class Etc2Encoder {
+    /** The file extension libGDX recognizes for KTX textures. */
+    public static final String EXTENSION = ".ktx";
+    /** Added to an atlas name (before the extension) for the copy of that atlas that uses the KTX pages. */
+    public static final String SUFFIX = "-etc2";
+
+    public static final int GL_COMPRESSED_RGBA8_ETC2_EAC = 0x9278;
+    public static final int GL_RGBA = 0x1908;
+
+    private static final byte[] KTX_IDENTIFIER = {
+            (byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n'};
+
+    /** The ETC1 intensity modifiers; each row holds the small and large modifier of one table. */
+    private static final int[][] ETC_TABLES = {
+            {2, 8}, {5, 17}, {9, 29}, {13, 42}, {18, 60}, {24, 80}, {33, 106}, {47, 183}};
+
+    /** The EAC alpha modifiers, before being multiplied. */
+    private static final int[][] EAC_TABLES = {
+            {-3, -6, -9, -15, 2, 5, 8, 14}, {-3, -7, -10, -13, 2, 6, 9, 12},
+            {-2, -5, -8, -13, 1, 4, 7, 12}, {-2, -4, -6, -13, 1, 3, 5, 12},
+            {-3, -6, -8, -12, 2, 5, 7, 11}, {-3, -7, -9, -11, 2, 6, 8, 10},
+            {-4, -7, -8, -11, 3, 6, 7, 10}, {-3, -5, -8, -11, 2, 4, 7, 10},
+            {-2, -6, -8, -10, 1, 5, 7, 9}, {-2, -5, -8, -10, 1, 4, 7, 9},
+            {-2, -4, -8, -10, 1, 3, 7, 9}, {-2, -5, -7, -10, 1, 4, 6, 9},
+            {-3, -4, -7, -10, 2, 3, 6, 9}, {-1, -2, -3, -10, 0, 1, 2, 9},
+            {-4, -6, -8, -9, 3, 5, 7, 8}, {-3, -5, -7, -9, 2, 4, 6, 8}};
+
+    /** How many threads encode at once; defaults to the number of cores. */
+    public int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Encodes every page of an atlas to a KTX file beside its PNG, which stays as the fallback, then writes a copy of
+     * the .atlas file whose pages are the KTX files, named with {@link #SUFFIX}, as in {@code noto-emoji-etc2.atlas}.
+     *
+     * @param atlasFile an .atlas file whose pages are in the same folder
+     * @return the .atlas file that uses the KTX pages
+     */
+    public FileHandle encodeAtlas(FileHandle atlasFile) {
+        long start = System.currentTimeMillis();
+        TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+        for (Page page : data.getPages()) {
+            FileHandle ktx = page.textureFile.sibling(page.textureFile.nameWithoutExtension() + EXTENSION);
+            Pixmap pixmap = new Pixmap(page.textureFile);
+            try {
+                write(pixmap, ktx);
+            } finally {
+                pixmap.dispose();
+            }
+            page.textureFile = ktx;
+        }
+        FileHandle output = atlasFile.sibling(atlasFile.nameWithoutExtension() + SUFFIX + ".atlas");
+        AtlasWriter.write(data.getPages(), data.getRegions(), output);
+        System.out.println("Encoded " + data.getPages().size + " pages of " + atlasFile.name() + " as ETC2 in "
+                + (System.currentTimeMillis() - start) + " ms.");
+        return output;
+    }
+
+    /**
+     * Encodes a Pixmap and writes it as a KTX file with one mipmap level.
+     *
+     * @param pixmap any Pixmap; it is not disposed
+     * @param file   the .ktx file to write; will be overwritten
+     */
+    public void write(Pixmap pixmap, FileHandle file) {
+        byte[] blocks = encode(pixmap);
+        ByteBuffer header = ByteBuffer.allocate(64 + 4).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(KTX_IDENTIFIER);
+        header.putInt(0x04030201); // endianness
+        header.putInt(0); // glType, 0 for compressed data
+        header.putInt(1); // glTypeSize
+        header.putInt(0); // glFormat, 0 for compressed data
+        header.putInt(GL_COMPRESSED_RGBA8_ETC2_EAC);
+        header.putInt(GL_RGBA);
+        header.putInt(pixmap.getWidth());
+        header.putInt(pixmap.getHeight());
+        header.putInt(0); // depth
+        header.putInt(0); // array elements
+        header.putInt(1); // faces
+        header.putInt(1); // mipmap levels
+        header.putInt(0); // key-value data
+        header.putInt(blocks.length); // imageSize of the only level
+        try (OutputStream out = file.write(false, 1 << 16)) {
+            out.write(header.array());
+            out.write(blocks);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write " + file, e);
+        }
+    }
+
+    /**
+     * Encodes a Pixmap as ETC2 RGBA8 blocks, in rows from the top left, 16 bytes per block. Images whose sides aren't
+     * multiples of 4 are padded by repeating their last row and column.
+     *
+     * @param pixmap any Pixmap; it is not disposed
+     * @return the encoded blocks
+     */
+    public byte[] encode(Pixmap pixmap) {
+        int width = pixmap.getWidth(), height = pixmap.getHeight();
+        int[] rgba = new int[width * height];
+        if (pixmap.getFormat() == Pixmap.Format.RGBA8888) {
+            ByteBuffer pixels = pixmap.getPixels().duplicate().order(ByteOrder.BIG_ENDIAN);
+            pixels.position(0);
+            pixels.asIntBuffer().get(rgba);
+        } else {
+            for (int y = 0, i = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    rgba[i++] = pixmap.getPixel(x, y);
+                }
+            }
+        }
+        int blocksWide = (width + 3) >> 2, blocksHigh = (height + 3) >> 2;
+        byte[] out = new byte[blocksWide * blocksHigh * 16];
+        int bands = Math.max(1, Math.min(blocksHigh, Math.max(1, parallelism) * 4));
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, bands)));
+        try {
+            ArrayList<Future<?>> jobs = new ArrayList<>(bands);
+            for (int b = 0; b < bands; b++) {
+                int first = blocksHigh * b / bands, last = blocksHigh * (b + 1) / bands;
+                jobs.add(executor.submit(() -> {
+                    int[] block = new int[16];
+                    for (int by = first; by < last; by++) {
+                        for (int bx = 0; bx < blocksWide; bx++) {
+                            for (int y = 0; y < 4; y++) {
+                                int row = Math.min((by << 2) + y, height - 1) * width;
+                                for (int x = 0; x < 4; x++) {
+                                    block[y << 2 | x] = rgba[row + Math.min((bx << 2) + x, width - 1)];
+                                }
+                            }
+                            encodeBlock(block, out, (by * blocksWide + bx) << 4);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> job : jobs) {
+                job.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while encoding ETC2.", e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return out;
+    }
+
+    /**
+     * Encodes one 4x4 block, given as 16 RGBA8888 ints in rows, to 16 bytes at offset in out: 8 of EAC alpha, then 8
+     * of color.
+     */
+    static void encodeBlock(int[] block, byte[] out, int offset) {
+        boolean transparent = true;
+        for (int c : block) {
+            if ((c & 255) != 0) {
+                transparent = false;
+                break;
+            }
+        }
+        if (transparent) {
+            // Alpha: base 0, multiplier 1, table 13, whose modifier 4 is 0, for every pixel; color: all black.
+            putLong(out, offset, 0x001D_9249_2492_4924L);
+            putLong(out, offset + 8, 0L);
+            return;
+        }
+        putLong(out, offset, encodeAlpha(block));
+        putLong(out, offset + 8, encodeColor(block));
+    }
+
+    private static void putLong(byte[] out, int offset, long bits) {
+        for (int i = 7; i >= 0; i--) {
+            out[offset + i] = (byte) bits;
+            bits >>>= 8;
+        }
+    }
+
+    /** Pixel indices in ETC and EAC blocks go down each column, then across. */
+    private static int indexOf(int x, int y) {
+        return x << 2 | y;
+    }
+
+    private static long encodeAlpha(int[] block) {
+        int min = 255, max = 0;
+        for (int c : block) {
+            int a = c & 255;
+            min = Math.min(min, a);
+            max = Math.max(max, a);
+        }
+        if (min == max) {
+            long bits = (long) min << 56 | 1L << 52 | 13L << 48;
+            for (int i = 0; i < 16; i++) {
+                bits |= 4L << (45 - 3 * i);
+            }
+            return bits;
+        }
+        long best = 0L;
+        int bestError = Integer.MAX_VALUE;
+        for (int t = 0; t < 16; t++) {
+            int[] table = EAC_TABLES[t];
+            int low = table[3], high = table[7], span = high - low;
+            double ideal = (max - min) / (double) span;
+            for (int m = Math.max(1, (int) ideal); m <= Math.min(15, (int) ideal + 1); m++) {
+                int center = (int) Math.round(min - low * m + ((max - min) - span * m) * 0.5);
+                for (int base = Math.max(0, center - 1); base <= Math.min(255, center + 1); base++) {
+                    int error = 0;
+                    long indices = 0L;
+                    for (int y = 0; y < 4 && error < bestError; y++) {
+                        for (int x = 0; x < 4; x++) {
+                            int a = block[y << 2 | x] & 255, bestIndex = 0, bestDiff = Integer.MAX_VALUE;
+                            for (int i = 0; i < 8; i++) {
+                                int d = Math.min(Math.max(base + table[i] * m, 0), 255) - a;
+                                d *= d;
+                                if (d < bestDiff) {
+                                    bestDiff = d;
+                                    bestIndex = i;
+                                }
+                            }
+                            error += bestDiff;
+                            indices |= (long) bestIndex << (45 - 3 * indexOf(x, y));
+                        }
+                    }
+                    if (error < bestError) {
+                        bestError = error;
+                        best = (long) base << 56 | (long) m << 52 | (long) t << 48 | indices;
+                        if (error == 0) return best;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long encodeColor(int[] block) {
+        long best = 0L;
+        long bestError = Long.MAX_VALUE;
+        int[] first = new int[3], second = new int[3];
+        long[] firstResult = new long[2], secondResult = new long[2];
+        for (int flip = 0; flip < 2; flip++) {
+            average(block, flip, 0, first);
+            average(block, flip, 1, second);
+            // Differential mode: 5-bit bases, where the second is within -4 to 3 of the first.
+            int r1 = quantize(first[0], 5), g1 = quantize(first[1], 5), b1 = quantize(first[2], 5);
+            int dr = Math.min(Math.max(quantize(second[0], 5) - r1, -4), 3),
+                    dg = Math.min(Math.max(quantize(second[1], 5) - g1, -4), 3),
+                    db = Math.min(Math.max(quantize(second[2], 5) - b1, -4), 3);
+            long error = subblock(block, flip, 0, expand5(r1), expand5(g1), expand5(b1), firstResult)
+                    + subblock(block, flip, 1, expand5(r1 + dr), expand5(g1 + dg), expand5(b1 + db), secondResult);
+            if (error < bestError) {
+                bestError = error;
+                best = (long) r1 << 59 | (long) (dr & 7) << 56 | (long) g1 << 51 | (long) (dg & 7) << 48
+                        | (long) b1 << 43 | (long) (db & 7) << 40 | firstResult[0] << 37 | secondResult[0] << 34
+                        | 1L << 33 | (long) flip << 32 | firstResult[1] | secondResult[1];
+            }
+            // Individual mode: two 4-bit bases.
+            int r2 = quantize(second[0], 4), g2 = quantize(second[1], 4), b2 = quantize(second[2], 4);
+            r1 = quantize(first[0], 4);
+            g1 = quantize(first[1], 4);
+            b1 = quantize(first[2], 4);
+            error = subblock(block, flip, 0, r1 * 17, g1 * 17, b1 * 17, firstResult)
+                    + subblock(block, flip, 1, r2 * 17, g2 * 17, b2 * 17, secondResult);
+            if (error < bestError) {
+                bestError = error;
+                best = (long) r1 << 60 | (long) r2 << 56 | (long) g1 << 52 | (long) g2 << 48
+                        | (long) b1 << 44 | (long) b2 << 40 | firstResult[0] << 37 | secondResult[0] << 34
+                        | (long) flip << 32 | firstResult[1] | secondResult[1];
+            }
+        }
+        return best;
+    }
+
+    /** True if the pixel at x, y is in the given subblock; without flip they are side by side, with flip stacked. */
+    private static boolean inSubblock(int x, int y, int flip, int sub) {
+        return ((flip == 0 ? x : y) >> 1) == sub;
+    }
+
+    /**
+     * Averages the color of one subblock, weighting each pixel by its alpha so transparent pixels (which are black)
+     * don't pull the base color toward black. A fully transparent subblock gets black.
+     */
+    private static void average(int[] block, int flip, int sub, int[] rgb) {
+        int r = 0, g = 0, b = 0, total = 0;
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                if (!inSubblock(x, y, flip, sub)) continue;
+                int c = block[y << 2 | x], a = c & 255;
+                r += (c >>> 24) * a;
+                g += (c >>> 16 & 255) * a;
+                b += (c >>> 8 & 255) * a;
+                total += a;
+            }
+        }
+        if (total == 0) {
+            rgb[0] = rgb[1] = rgb[2] = 0;
+            return;
+        }
+        int half = total >> 1;
+        rgb[0] = (r + half) / total;
+        rgb[1] = (g + half) / total;
+        rgb[2] = (b + half) / total;
+    }
+
+    private static int quantize(int value, int bits) {
+        int levels = (1 << bits) - 1;
+        return (value * levels + 127) / 255;
+    }
+
+    private static int expand5(int value) {
+        return value << 3 | value >> 2;
+    }
+
+    /**
+     * Finds the best table and per-pixel modifiers for one subblock with the given base color. Each pixel's squared
+     * error is weighted by its alpha, so fully transparent pixels don't affect the choice of table.
+     *
+     * @param result gets the table, then the pixel index bits in their final positions
+     * @return the alpha-weighted squared error
+     */
+    private static long subblock(int[] block, int flip, int sub, int r, int g, int b, long[] result) {
+        long bestError = Long.MAX_VALUE;
+        for (int t = 0; t < 8; t++) {
+            int[] table = ETC_TABLES[t];
+            long error = 0L, bits = 0L;
+            for (int y = 0; y < 4 && error < bestError; y++) {
+                for (int x = 0; x < 4; x++) {
+                    if (!inSubblock(x, y, flip, sub)) continue;
+                    int c = block[y << 2 | x];
+                    int pr = c >>> 24, pg = c >>> 16 & 255, pb = c >>> 8 & 255, a = c & 255;
+                    int bestIndex = 0, bestDiff = Integer.MAX_VALUE;
+                    for (int i = 0; i < 4; i++) {
+                        // Index bits: the high bit negates the modifier, and the low bit picks the large one.
+                        int modifier = (i & 2) == 0 ? table[i & 1] : -table[i & 1];
+                        int dr = clamp(r + modifier) - pr, dg = clamp(g + modifier) - pg, db = clamp(b + modifier) - pb;
+                        int diff = dr * dr + dg * dg + db * db;
+                        if (diff < bestDiff) {
+                            bestDiff = diff;
+                            bestIndex = i;
+                        }
+                    }
+                    error += (long) bestDiff * a;
+                    int p = indexOf(x, y);
+                    bits |= (long) (bestIndex >> 1) << (16 + p) | (long) (bestIndex & 1) << p;
+                }
+            }
+            if (error < bestError) {
+                bestError = error;
+                result[0] = t;
+                result[1] = bits;
+            }
+        }
+        return bestError;
+    }
+
+    private static int clamp(int value) {
+        return Math.min(Math.max(value, 0), 255);
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * An atlas where every emoji of one size gets a cell of the same size, in rows, so where an emoji is on its page can be
+ * computed from its cell number instead of stored. Each emoji has an index, its place in the order the atlas was
+ * written in, and the {@link #EXTENSION} file holds just the grid's dimensions, which cell each index uses (identical
+ * images share a cell), and the names to look indices up by. Drawing by index does a little arithmetic and no lookups,
+ * and no AtlasRegion is made for any emoji.
+ * <br>
+ * Look up an index once with {@link #indexOf(String)}, keep the int, and draw with
+ * {@link #draw(Batch, int, float, float, float, float)}. Pages are loaded the first time anything on them is drawn,
+ * like {@link LazyAtlas}, so this must be used on the thread that owns the GL context.
+ */
+public class GridAtlas implements Disposable {
+    public static final String EXTENSION = ".grid";
+    public static final int MAGIC = 0x4E45_4741; // "NEGA"
+    public static final int VERSION = 1;
+
+    /** The size of the image in each cell. */
+    public final int cellWidth, cellHeight;
+    /** The distance from one cell to the next, which is the cell size plus padding. */
+    public final int strideX, strideY;
+    /** Where the first cell starts on each page. */
+    public final int marginX, marginY;
+    public final int columns, cellsPerPage;
+
+    private final FileHandle[] pageFiles;
+    private final int[] pageWidths, pageHeights;
+    private final Texture[] textures;
+    private final int[] cells;
+    private final String[] emoji, names;
+    private final ObjectIntMap<String> indices;
+
+    /**
+     * Reads a grid atlas, without loading any of its pages.
+     *
+     * @param gridFile a {@link #EXTENSION} file, with its pages in the same folder
+     */
+    public GridAtlas(FileHandle gridFile) {
+        ByteBuffer bb = ByteBuffer.wrap(gridFile.readBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        if (bb.getInt() != MAGIC || bb.getInt() != VERSION)
+            throw new GdxRuntimeException("Not a version " + VERSION + " grid atlas: " + gridFile);
+        cellWidth = bb.getInt();
+        cellHeight = bb.getInt();
+        strideX = bb.getInt();
+        strideY = bb.getInt();
+        marginX = bb.getInt();
+        marginY = bb.getInt();
+        columns = bb.getInt();
+        cellsPerPage = bb.getInt();
+        int pageCount = bb.getInt();
+        pageFiles = new FileHandle[pageCount];
+        pageWidths = new int[pageCount];
+        pageHeights = new int[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            pageWidths[i] = bb.getInt();
+            pageHeights[i] = bb.getInt();
+            pageFiles[i] = gridFile.sibling(readString(bb));
+        }
+        textures = new Texture[pageCount];
+        int count = bb.getInt();
+        cells = new int[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = bb.getInt();
+        }
+        emoji = new String[count];
+        names = new String[count];
+        indices = new ObjectIntMap<>(count * 4);
+        for (int i = 0; i < count; i++) {
+            emoji[i] = readString(bb);
+            names[i] = readString(bb);
+            putIfAbsent(emoji[i], i);
+            putIfAbsent(names[i], i);
+            for (int a = bb.getInt(); a > 0; a--) {
+                putIfAbsent(readString(bb), i);
+            }
+        }
+    }
+
+    private void putIfAbsent(String name, int index) {
+        if (!indices.containsKey(name)) indices.put(name, index);
+    }
+
+    private static String readString(ByteBuffer bb) {
+        byte[] bytes = new byte[bb.getInt()];
+        bb.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param name an emoji, name, or alias
+     * @return the index to draw it by, or -1 if this atlas doesn't have it
+     */
+    public int indexOf(String name) {
+        return indices.get(name, -1);
+    }
+
+    /** How many emoji this has; indices go from 0 up to this, exclusive. */
+    public int size() {
+        return cells.length;
+    }
+
+    public String getEmoji(int index) {
+        return emoji[index];
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /** The cell the emoji at index is drawn from; emoji with identical images share a cell. */
+    public int getCell(int index) {
+        return cells[index];
+    }
+
+    public int getPage(int index) {
+        return cells[index] / cellsPerPage;
+    }
+
+    /** The x position of the emoji's image on its page, in pixels. */
+    public int getX(int index) {
+        return marginX + cells[index] % cellsPerPage % columns * strideX;
+    }
+
+    /** The y position of the emoji's image on its page, in pixels, down from the top. */
+    public int getY(int index) {
+        return marginY + cells[index] % cellsPerPage / columns * strideY;
+    }
+
+    public float getU(int index) {
+        return getX(index) / (float) pageWidths[getPage(index)];
+    }
+
+    public float getV(int index) {
+        return getY(index) / (float) pageHeights[getPage(index)];
+    }
+
+    public float getU2(int index) {
+        return (getX(index) + cellWidth) / (float) pageWidths[getPage(index)];
+    }
+
+    public float getV2(int index) {
+        return (getY(index) + cellHeight) / (float) pageHeights[getPage(index)];
+    }
+
+    /**
+     * Gets the texture for a page, loading it if it isn't yet.
+     *
+     * @param page a page number, as from {@link #getPage(int)}
+     * @return the loaded page
+     */
+    public Texture getTexture(int page) {
+        Texture texture = textures[page];
+        if (texture == null) {
+            texture = new Texture(pageFiles[page]);
+            texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            textures[page] = texture;
+        }
+        return texture;
+    }
+
+    /**
+     * Draws the emoji at index, stretched to the given size.
+     *
+     * @param batch a Batch that has begun
+     * @param index an index from {@link #indexOf(String)}
+     */
+    public void draw(Batch batch, int index, float x, float y, float width, float height) {
+        int cell = cells[index], page = cell / cellsPerPage, local = cell - page * cellsPerPage;
+        float left = marginX + local % columns * strideX, top = marginY + local / columns * strideY;
+        float pageWidth = pageWidths[page], pageHeight = pageHeights[page];
+        // Batch wants the v of the bottom edge first, which is the larger one, since pages are stored top-down.
+        batch.draw(getTexture(page), x, y, width, height, left / pageWidth, (top + cellHeight) / pageHeight,
+                (left + cellWidth) / pageWidth, top / pageHeight);
+    }
+
+    /** Disposes every page that was loaded; this can still draw after, but will load pages again. */
+    @Override
+    public void dispose() {
+        for (int i = 0; i < textures.length; i++) {
+            if (textures[i] != null) {
+                textures[i].dispose();
+                textures[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Writes a grid atlas of the given emoji, in the given order. Every cell is the size of the largest image; smaller
+     * images go in the top left of their cell. Identical images are only stored once. Padding, the page size limit,
+     * and rounding of page sizes come from settings, as for a packed atlas; with duplicatePadding, each image's edge
+     * pixels are repeated into its padding.
+     *
+     * @param entries  the emoji to include; each one's index is its place in this list
+     * @param rawDir   a folder of images named by codename, such as {@link EmojiRenamer.Size#rawDir()}
+     * @param settings the settings to take padding and page sizes from, such as an {@link AtlasPacker}'s
+     * @param gridFile the {@link #EXTENSION} file to write; pages are written beside it, named after it
+     */
+    public static void write(List<EmojiRenamer.Entry> entries, FileHandle rawDir, TexturePacker.Settings settings,
+                             FileHandle gridFile) {
+        long start = System.currentTimeMillis();
+        Pixmap[] images = new Pixmap[entries.size()];
+        int cellWidth = 0, cellHeight = 0;
+        for (int i = 0; i < images.length; i++) {
+            images[i] = new Pixmap(rawDir.child(entries.get(i).codename + ".png"));
+            cellWidth = Math.max(cellWidth, images[i].getWidth());
+            cellHeight = Math.max(cellHeight, images[i].getHeight());
+        }
+        // Like TexturePacker's alias setting, identical images share one cell. Images with the same checksum and size
+        // are only candidates; their pixels are compared before a cell is shared.
+        LongMap<IntArray> byContents = new LongMap<>(images.length);
+        IntArray firsts = new IntArray(images.length);
+        int[] cells = new int[images.length];
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < images.length; i++) {
+            crc.reset();
+            crc.update(images[i].getPixels().duplicate().clear());
+            long key = crc.getValue() << 32 ^ images[i].getWidth() << 16 ^ images[i].getHeight();
+            IntArray candidates = byContents.get(key);
+            if (candidates == null) byContents.put(key, candidates = new IntArray(false, 1));
+            int cell = -1;
+            for (int c = 0; c < candidates.size && cell < 0; c++) {
+                if (samePixels(images[firsts.get(candidates.get(c))], images[i])) cell = candidates.get(c);
+            }
+            if (cell < 0) {
+                cell = firsts.size;
+                firsts.add(i);
+                candidates.add(cell);
+            }
+            cells[i] = cell;
+        }
+
+        int marginX = settings.edgePadding ? settings.paddingX : 0, marginY = settings.edgePadding ? settings.paddingY : 0;
+        int strideX = cellWidth + settings.paddingX, strideY = cellHeight + settings.paddingY;
+        int columns = (settings.maxWidth - marginX * 2 + settings.paddingX) / strideX;
+        int rows = (settings.maxHeight - marginY * 2 + settings.paddingY) / strideY;
+        if (columns < 1 || rows < 1)
+            throw new GdxRuntimeException("Cells of " + cellWidth + "x" + cellHeight + " don't fit on a page.");
+        // Fewer cells than would fill a row only need that many columns.
+        columns = Math.min(columns, firsts.size);
+        int cellsPerPage = columns * rows, pageCount = (firsts.size + cellsPerPage - 1) / cellsPerPage;
+        String baseName = gridFile.nameWithoutExtension();
+        int amountX = settings.duplicatePadding ? settings.paddingX / 2 : 0;
+        int amountY = settings.duplicatePadding ? settings.paddingY / 2 : 0;
+        ArrayList<String> pageNames = new ArrayList<>(pageCount);
+        int[] pageWidths = new int[pageCount], pageHeights = new int[pageCount];
+        for (FileHandle old : gridFile.parent().list(".png")) {
+            if (old.name().startsWith(baseName)) old.delete();
+        }
+        for (int p = 0; p < pageCount; p++) {
+            int first = p * cellsPerPage, count = Math.min(cellsPerPage, firsts.size - first);
+            int usedRows = (count + columns - 1) / columns;
+            pageWidths[p] = pageSize(marginX * 2 + columns * strideX - settings.paddingX, settings.minWidth, settings);
+            pageHeights[p] = pageSize(marginY * 2 + usedRows * strideY - settings.paddingY, settings.minHeight, settings);
+            if (settings.square) pageWidths[p] = pageHeights[p] = Math.max(pageWidths[p], pageHeights[p]);
+            Pixmap page = new Pixmap(pageWidths[p], pageHeights[p], Pixmap.Format.RGBA8888);
+            page.setBlending(Pixmap.Blending.None);
+            for (int c = 0; c < count; c++) {
+                Pixmap image = images[firsts.get(first + c)];
+                int x = marginX + c % columns * strideX, y = marginY + c / columns * strideY;
+                int w = image.getWidth(), h = image.getHeight();
+                page.drawPixmap(image, 0, 0, w, h, x, y, w, h);
+                // The cell's edge pixels, not the image's, are repeated, so a narrower image keeps a clear edge.
+                int right = x + cellWidth - 1, bottom = y + cellHeight - 1;
+                for (int j = y - amountY; j <= bottom + amountY; j++) {
+                    int from = MathUtils.clamp(j, y, bottom);
+                    for (int i = 1; i <= amountX; i++) {
+                        page.drawPixel(x - i, j, page.getPixel(x, from));
+                        page.drawPixel(right + i, j, page.getPixel(right, from));
+                    }
+                }
+                for (int j = 1; j <= amountY; j++) {
+                    for (int i = x; i <= right; i++) {
+                        page.drawPixel(i, y - j, page.getPixel(i, y));
+                        page.drawPixel(i, bottom + j, page.getPixel(i, bottom));
+                    }
+                }
+            }
+            String pageName = baseName + (p == 0 ? "" : p + 1) + ".png";
+            pageNames.add(pageName);
+            try {
+                PixmapIO.PNG png = new PixmapIO.PNG();
+                png.setFlipY(false);
+                png.write(gridFile.sibling(pageName), page);
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Couldn't write " + pageName, e);
+            } finally {
+                page.dispose();
+            }
+        }
+        for (Pixmap image : images) {
+            image.dispose();
+        }
+
+        ArrayList<byte[]> strings = new ArrayList<>(entries.size() * 4);
+        int length = 4 * (12 + pageCount * 3 + 1 + cells.length);
+        for (String name : pageNames) {
+            length += add(strings, name);
+        }
+        for (EmojiRenamer.Entry entry : entries) {
+            length += add(strings, entry.emoji) + add(strings, entry.name) + 4;
+            for (String alias : entry.aliases) {
+                length += add(strings, alias);
+            }
+        }
+        ByteBuffer bb = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(MAGIC).putInt(VERSION).putInt(cellWidth).putInt(cellHeight).putInt(strideX).putInt(strideY)
+                .putInt(marginX).putInt(marginY).putInt(columns).putInt(cellsPerPage).putInt(pageCount);
+        int s = 0;
+        for (int p = 0; p < pageCount; p++) {
+            bb.putInt(pageWidths[p]).putInt(pageHeights[p]);
+            byte[] name = strings.get(s++);
+            bb.putInt(name.length).put(name);
+        }
+        bb.putInt(cells.length);
+        for (int cell : cells) {
+            bb.putInt(cell);
+        }
+        for (EmojiRenamer.Entry entry : entries) {
+            for (int i = 0; i < 2; i++) {
+                byte[] string = strings.get(s++);
+                bb.putInt(string.length).put(string);
+            }
+            bb.putInt(entry.aliases.length);
+            for (int i = 0; i < entry.aliases.length; i++) {
+                byte[] string = strings.get(s++);
+                bb.putInt(string.length).put(string);
+            }
+        }
+        gridFile.writeBytes(bb.array(), false);
+        System.out.println("Wrote " + entries.size() + " emoji in " + firsts.size + " cells of " + cellWidth + "x"
+                + cellHeight + " on " + pageCount + " pages to " + gridFile.parent().name() + " in "
+                + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    private static int add(ArrayList<byte[]> strings, String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        strings.add(bytes);
+        return bytes.length + 4;
+    }
+
+    private static boolean samePixels(Pixmap a, Pixmap b) {
+        return a.getFormat() == b.getFormat() && a.getWidth() == b.getWidth() && a.getHeight() == b.getHeight()
+                && a.getPixels().duplicate().clear().equals(b.getPixels().duplicate().clear());
+    }
+
+    /** Rounds a page dimension the way TexturePacker would for these settings. */
+    private static int pageSize(int size, int min, TexturePacker.Settings settings) {
+        size = Math.max(size, min);
+        if (settings.pot) size = MathUtils.nextPowerOfTwo(size);
+        if (settings.multipleOfFour) size = size + 3 & -4;
+        return size;
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+
+/**
+ * Streams a JSON array of objects, such as {@code emoji_15_1.json}, from one file to another, one object (record) at a
+ * time, letting a {@link Transform} change or drop each record on the way. Only the current record is ever in memory,
+ * so memory use doesn't grow with the file. The output is written the way the assembler has always written these
+ * files: compact JSON with one record per line, between a {@code [} line and a closing {@code ]}.
+ * <br>
+ * Strings are decoded and re-quoted the same way {@link JsonWriter.OutputType#json} quotes them, and other values
+ * (numbers, booleans, null, arrays, and objects) are copied with whitespace outside strings removed, so the output
+ * matches what parsing to a JsonValue and calling {@code toJson(OutputType.json)} on it would give.
+ */
+public class JsonRecords {
+    /** Changes one record in place. */
+    public interface Transform {
+        /**
+         * @param record the record just read; can be modified
+         * @return true to write the record, or false to drop it
+         */
+        boolean apply(Record record);
+    }
+
+    /** One JSON object, with its keys in order and each value kept as compact JSON text. */
+    public static final class Record {
+        private final ArrayList<String> keys = new ArrayList<>(16);
+        private final ArrayList<String> values = new ArrayList<>(16);
+
+        private int indexOf(String key) {
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                if (keys.get(i).equals(key)) return i;
+            }
+            return -1;
+        }
+
+        public boolean has(String key) {
+            return indexOf(key) >= 0;
+        }
+
+        /**
+         * @param key a key in this record
+         * @return the value for key if it is a string, or else its JSON text, or null if key isn't present
+         */
+        public String getString(String key) {
+            int i = indexOf(key);
+            if (i < 0) return null;
+            String value = values.get(i);
+            return value.startsWith("\"") ? unquote(value) : value;
+        }
+
+        /**
+         * Sets key to a string value, replacing any value it had in place, or adding it at the end.
+         */
+        public void put(String key, String value) {
+            String quoted = JsonWriter.OutputType.json.quoteValue(value);
+            int i = indexOf(key);
+            if (i < 0) {
+                keys.add(key);
+                values.add(quoted);
+            } else {
+                values.set(i, quoted);
+            }
+        }
+
+        public void remove(String key) {
+            int i = indexOf(key);
+            if (i >= 0) {
+                keys.remove(i);
+                values.remove(i);
+            }
+        }
+
+        void write(Writer writer) throws IOException {
+            writer.write('{');
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) writer.write(',');
+                writer.write(JsonWriter.OutputType.json.quoteName(keys.get(i)));
+                writer.write(':');
+                writer.write(values.get(i));
+            }
+            writer.write('}');
+        }
+
+        void clear() {
+            keys.clear();
+            values.clear();
+        }
+    }
+
+    /**
+     * Reads every record in the array in input, passes each to transform, and writes the ones it keeps to output.
+     *
+     * @param input     a JSON file whose root is an array of objects
+     * @param output    where to write; will be overwritten
+     * @param transform changes or drops each record
+     * @return how many records were written
+     */
+    public static int transform(FileHandle input, FileHandle output, Transform transform) {
+        try (Reader reader = input.reader(1 << 16, "UTF8");
+             Writer writer = new BufferedWriter(output.writer(false, "UTF8"), 1 << 16)) {
+            return transform(reader, writer, transform);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't transform " + input + " to " + output, e);
+        }
+    }
+
+    /**
+     * Reads every record in the array in reader, passes each to transform, and writes the ones it keeps to writer.
+     * Neither is closed.
+     *
+     * @return how many records were written
+     */
+    public static int transform(Reader reader, Writer writer, Transform transform) throws IOException {
+        Parser parser = new Parser(reader);
+        parser.expect('[');
+        writer.write('[');
+        Record record = new Record();
+        StringBuilder sb = new StringBuilder(256);
+        int written = 0;
+        int c = parser.skipSpace();
+        if (c == ']') {
+            writer.write(']');
+            return 0;
+        }
+        parser.unread(c);
+        while (true) {
+            record.clear();
+            parser.expect('{');
+            c = parser.skipSpace();
+            if (c != '}') {
+                parser.unread(c);
+                while (true) {
+                    parser.expect('"');
+                    sb.setLength(0);
+                    parser.copyString(sb);
+                    String key = unquote(sb.toString());
+                    parser.expect(':');
+                    sb.setLength(0);
+                    parser.copyValue(sb);
+                    record.keys.add(key);
+                    record.values.add(sb.toString());
+                    c = parser.skipSpace();
+                    if (c == '}') break;
+                    if (c != ',') throw parser.error("',' or '}'", c);
+                }
+            }
+            if (transform.apply(record)) {
+                writer.write(written == 0 ? "\n" : ",\n");
+                record.write(writer);
+                written++;
+            }
+            c = parser.skipSpace();
+            if (c == ']') break;
+            if (c != ',') throw parser.error("',' or ']'", c);
+        }
+        writer.write(']');
+        return written;
+    }
+
+    /**
+     * Decodes a quoted JSON string, including its quotes, into its value.
+     */
+    static String unquote(String quoted) {
+        int end = quoted.length() - 1;
+        if (quoted.indexOf('\\') < 0) return quoted.substring(1, end);
+        StringBuilder sb = new StringBuilder(end);
+        for (int i = 1; i < end; i++) {
+            char c = quoted.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            c = quoted.charAt(++i);
+            switch (c) {
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    sb.append((char) Integer.parseInt(quoted.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default: sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Reads JSON tokens from a Reader, one char at a time, with one char of pushback. */
+    private static final class Parser {
+        private final Reader reader;
+        private int pushed = -2;
+        private long position;
+
+        Parser(Reader reader) {
+            this.reader = reader;
+        }
+
+        int read() throws IOException {
+            if (pushed != -2) {
+                int c = pushed;
+                pushed = -2;
+                return c;
+            }
+            position++;
+            return reader.read();
+        }
+
+        void unread(int c) {
+            pushed = c;
+        }
+
+        int skipSpace() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+            return c;
+        }
+
+        void expect(char expected) throws IOException {
+            int c = skipSpace();
+            if (c != expected) throw error("'" + expected + "'", c);
+        }
+
+        /** Copies the rest of a string whose opening quote was already read, with both quotes, to sb. */
+        void copyString(StringBuilder sb) throws IOException {
+            sb.append('"');
+            while (true) {
+                int c = read();
+                if (c < 0) throw error("'\"'", c);
+                sb.append((char) c);
+                if (c == '"') return;
+                if (c == '\\') {
+                    c = read();
+                    if (c < 0) throw error("an escape", c);
+                    sb.append((char) c);
+                }
+            }
+        }
+
+        /** Copies one value to sb, dropping whitespace outside strings and re-quoting strings. */
+        void copyValue(StringBuilder sb) throws IOException {
+            int c = skipSpace();
+            switch (c) {
+                case '"': {
+                    int start = sb.length();
+                    copyString(sb);
+                    String value = unquote(sb.substring(start));
+                    sb.setLength(start);
+                    sb.append(JsonWriter.OutputType.json.quoteValue(value));
+                    return;
+                }
+                case '[':
+                case '{': {
+                    char close = c == '[' ? ']' : '}';
+                    sb.append((char) c);
+                    c = skipSpace();
+                    if (c == close) {
+                        sb.append(close);
+                        return;
+                    }
+                    unread(c);
+                    while (true) {
+                        if (close == '}') {
+                            expect('"');
+                            int start = sb.length();
+                            copyString(sb);
+                            String name = unquote(sb.substring(start));
+                            sb.setLength(start);
+                            sb.append(JsonWriter.OutputType.json.quoteName(name));
+                            expect(':');
+                            sb.append(':');
+                        }
+                        copyValue(sb);
+                        c = skipSpace();
+                        if (c == close) {
+                            sb.append(close);
+                            return;
+                        }
+                        if (c != ',') throw error("',' or '" + close + "'", c);
+                        sb.append(',');
+                    }
+                }
+                default: {
+                    // A number, true, false, or null.
+                    while (c >= 0 && c != ',' && c != '}' && c != ']' && c > ' ') {
+                        sb.append((char) c);
+                        c = read();
+                    }
+                    unread(c);
+                }
+            }
+        }
+
+        GdxRuntimeException error(String expected, int found) {
+            return new GdxRuntimeException("Expected " + expected + " at char " + position + " but found "
+                    + (found < 0 ? "the end of the file" : "'" + (char) found + "'"));
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Finds every emoji whose names, aliases, tags, and category contain all the words of a search, such as
+ * {@code "red heart"} or {@code "cat smile"}. Each word maps to a posting list of the emoji that have it, stored as
+ * gaps between ascending emoji numbers, each written in as few bytes as it fits in 7 bits at a time. A search looks up
+ * each of its words and intersects their lists, starting from the shortest.
+ * <br>
+ * Words are runs of letters and digits, compared without case, so {@code "Thumbs_Up"} has the words {@code "thumbs"}
+ * and {@code "up"}. Emoji are numbered from the most popular down, the same way {@link EmojiCompleter} numbers them
+ * when built from the same items, so results come out most popular first.
+ * <br>
+ * Searching uses buffers owned by this index instead of allocating, so one KeywordIndex shouldn't be searched from
+ * more than one thread at a time.
+ */
+public class KeywordIndex {
+    public static final String EXTENSION = ".keywords";
+    public static final int MAGIC = 0x4E45_4B49; // "NEKI"
+    public static final int VERSION = 1;
+
+    /** Word i is {@code words} from {@code wordStart[i]} inclusive to {@code wordStart[i+1]} exclusive. */
+    private final int[] wordStart;
+    /** Every word, lower-cased, in sorted order. */
+    private final char[] words;
+    /** Word i's postings are {@code postings} from {@code postingStart[i]} inclusive to {@code postingStart[i+1]}. */
+    private final int[] postingStart;
+    /** How many emoji each word's posting list holds. */
+    private final int[] postingCount;
+    private final byte[] postings;
+    private final String[] emoji, names;
+
+    /** Which posting list each word of the current search uses. */
+    private final int[] queryWords = new int[16];
+    private final char[] wordBuffer = new char[64];
+    private final int[] matches, merged;
+
+    private KeywordIndex(int[] wordStart, char[] words, int[] postingStart, int[] postingCount, byte[] postings,
+                         String[] emoji, String[] names) {
+        this.wordStart = wordStart;
+        this.words = words;
+        this.postingStart = postingStart;
+        this.postingCount = postingCount;
+        this.postings = postings;
+        this.emoji = emoji;
+        this.names = names;
+        matches = new int[emoji.length];
+        merged = new int[emoji.length];
+    }
+
+    /**
+     * Builds an index of the words in each item's terms.
+     *
+     * @param items every emoji to find, with every name, alias, tag, and category it can be found by
+     * @return a new KeywordIndex
+     */
+    public static KeywordIndex build(List<EmojiCompleter.Item> items) {
+        EmojiCompleter.Item[] sorted = items.toArray(new EmojiCompleter.Item[0]);
+        // Stable, so equal weights keep their order, as in EmojiCompleter.
+        Arrays.sort(sorted, Comparator.comparingInt((EmojiCompleter.Item item) -> item.weight).reversed());
+        TreeMap<String, IntArray> lists = new TreeMap<>();
+        StringBuilder word = new StringBuilder(32);
+        for (int id = 0; id < sorted.length; id++) {
+            for (String term : sorted[id].terms) {
+                if (term == null) continue;
+                for (int i = 0, n = term.length(); i <= n; i++) {
+                    char c = i < n ? term.charAt(i) : ' ';
+                    if (Character.isLetterOrDigit(c)) {
+                        word.append(Character.toLowerCase(c));
+                    } else if (word.length() > 0) {
+                        IntArray list = lists.computeIfAbsent(word.toString(), k -> new IntArray());
+                        // Ids only go up, so a repeat can only be the last one added.
+                        if (list.size == 0 || list.peek() != id) list.add(id);
+                        word.setLength(0);
+                    }
+                }
+            }
+        }
+
+        int[] wordStart = new int[lists.size() + 1], postingStart = new int[lists.size() + 1],
+                postingCount = new int[lists.size()];
+        StringBuilder words = new StringBuilder(lists.size() * 8);
+        ByteArrayOutputStream postings = new ByteArrayOutputStream(lists.size() * 8);
+        int w = 0;
+        for (Map.Entry<String, IntArray> e : lists.entrySet()) {
+            wordStart[w] = words.length();
+            words.append(e.getKey());
+            postingStart[w] = postings.size();
+            IntArray list = e.getValue();
+            postingCount[w] = list.size;
+            for (int i = 0, previous = -1; i < list.size; i++) {
+                int gap = list.get(i) - previous - 1;
+                previous = list.get(i);
+                while ((gap & ~0x7F) != 0) {
+                    postings.write(gap & 0x7F | 0x80);
+                    gap >>>= 7;
+                }
+                postings.write(gap);
+            }
+            w++;
+        }
+        wordStart[w] = words.length();
+        postingStart[w] = postings.size();
+        char[] wordChars = new char[words.length()];
+        words.getChars(0, wordChars.length, wordChars, 0);
+        String[] emoji = new String[sorted.length], names = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            emoji[i] = sorted[i].emoji;
+            names[i] = sorted[i].name;
+        }
+        return new KeywordIndex(wordStart, wordChars, postingStart, postingCount, postings.toByteArray(),
+                emoji, names);
+    }
+
+    /**
+     * Finds the emoji that have every word of a search, most popular first, without allocating. Words that are too
+     * long to be in the index match nothing; past the 16th, words are ignored.
+     *
+     * @param query one or more words, separated by anything that isn't a letter or digit
+     * @param out   gets the matching emoji; its length is the most that will be given
+     * @return how many matches were put in out; 0 if nothing has every word, or if query has no words
+     */
+    public int search(CharSequence query, int[] out) {
+        int count = 0, length = 0;
+        for (int i = 0, n = query.length(); i <= n; i++) {
+            char c = i < n ? query.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (length < wordBuffer.length) wordBuffer[length] = Character.toLowerCase(c);
+                length++;
+            } else if (length > 0) {
+                int word = length > wordBuffer.length ? -1 : find(wordBuffer, length);
+                if (word < 0) return 0;
+                if (count < queryWords.length) queryWords[count++] = word;
+                length = 0;
+            }
+        }
+        if (count == 0) return 0;
+        // Intersecting from the shortest list keeps every step at most that long.
+        int shortest = 0;
+        for (int i = 1; i < count; i++) {
+            if (postingCount[queryWords[i]] < postingCount[queryWords[shortest]]) shortest = i;
+        }
+        int size = decode(queryWords[shortest], matches);
+        for (int i = 0; i < count && size > 0; i++) {
+            if (i != shortest) size = intersect(queryWords[i], size);
+        }
+        size = Math.min(size, out.length);
+        System.arraycopy(matches, 0, out, 0, size);
+        return size;
+    }
+
+    /** Finds the word in the first length chars of word, or -1 if it isn't in this index. */
+    private int find(char[] word, int length) {
+        int lo = 0, hi = postingCount.length - 1;
+        while (lo <= hi) {
+            int mid = lo + hi >>> 1;
+            int start = wordStart[mid], end = wordStart[mid + 1], cmp = 0;
+            for (int i = 0; cmp == 0 && i < length && start + i < end; i++) {
+                cmp = words[start + i] - word[i];
+            }
+            if (cmp == 0) cmp = end - start - length;
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /** Decodes a word's whole posting list into into, returning its length. */
+    private int decode(int word, int[] into) {
+        int p = postingStart[word], id = -1;
+        for (int i = 0, n = postingCount[word]; i < n; i++) {
+            int gap = 0, shift = 0, b;
+            do {
+                b = postings[p++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            into[i] = id += gap + 1;
+        }
+        return postingCount[word];
+    }
+
+    /** Keeps only the first size matches that are also in a word's posting list, returning how many are left. */
+    private int intersect(int word, int size) {
+        int p = postingStart[word], end = postingStart[word + 1], id = -1, kept = 0;
+        for (int m = 0; m < size; ) {
+            if (id < matches[m]) {
+                if (p == end) break;
+                int gap = 0, shift = 0, b;
+                do {
+                    b = postings[p++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += gap + 1;
+            }
+            if (id == matches[m]) merged[kept++] = matches[m++];
+            else if (id > matches[m]) m++;
+        }
+        System.arraycopy(merged, 0, matches, 0, kept);
+        return kept;
+    }
+
+    /**
+     * @param match a match from {@link #search(CharSequence, int[])}
+     * @return the emoji it is; this is stored, not allocated
+     */
+    public String getEmoji(int match) {
+        return emoji[match];
+    }
+
+    /**
+     * @param match a match from {@link #search(CharSequence, int[])}
+     * @return the name to show for it; this is stored, not allocated
+     */
+    public String getName(int match) {
+        return names[match];
+    }
+
+    public int getWordCount() {
+        return postingCount.length;
+    }
+
+    public int getEmojiCount() {
+        return emoji.length;
+    }
+
+    /**
+     * Saves this to a little-endian binary file: {@link #MAGIC}, {@link #VERSION}, the word count, the length of all
+     * words together, the length of all posting lists together in bytes, and the emoji count, then the start of each
+     * word plus one end position, the start of each posting list plus one end position, the length of each posting
+     * list, the words as UTF-16 chars, the posting lists, and each emoji and name as a length in bytes followed by that
+     * much UTF-8.
+     *
+     * @param file where to write; will be overwritten
+     */
+    public void save(FileHandle file) {
+        int wordCount = postingCount.length;
+        byte[][] strings = new byte[emoji.length * 2][];
+        int stringBytes = 0;
+        for (int i = 0; i < emoji.length; i++) {
+            strings[i * 2] = emoji[i].getBytes(StandardCharsets.UTF_8);
+            strings[i * 2 + 1] = names[i].getBytes(StandardCharsets.UTF_8);
+            stringBytes += strings[i * 2].length + strings[i * 2 + 1].length + 8;
+        }
+        ByteBuffer bb = ByteBuffer.allocate((6 + wordCount * 3 + 2) * 4 + words.length * 2 + postings.length
+                + stringBytes).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(MAGIC).putInt(VERSION).putInt(wordCount).putInt(words.length).putInt(postings.length)
+                .putInt(emoji.length);
+        for (int[] array : new int[][]{wordStart, postingStart, postingCount}) {
+            for (int v : array) {
+                bb.putInt(v);
+            }
+        }
+        for (char c : words) {
+            bb.putChar(c);
+        }
+        bb.put(postings);
+        for (byte[] s : strings) {
+            bb.putInt(s.length).put(s);
+        }
+        file.writeBytes(bb.array(), false);
+    }
+
+    /**
+     * Loads an index saved by {@link #save(FileHandle)}.
+     *
+     * @param file a {@link #EXTENSION} file
+     * @return a new KeywordIndex
+     */
+    public static KeywordIndex load(FileHandle file) {
+        ByteBuffer bb = ByteBuffer.wrap(file.readBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        if (bb.getInt() != MAGIC || bb.getInt() != VERSION)
+            throw new GdxRuntimeException("Not a version " + VERSION + " keyword index: " + file);
+        int wordCount = bb.getInt(), wordLength = bb.getInt(), postingLength = bb.getInt(), count = bb.getInt();
+        int[] wordStart = new int[wordCount + 1], postingStart = new int[wordCount + 1], postingCount = new int[wordCount];
+        for (int[] array : new int[][]{wordStart, postingStart, postingCount}) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = bb.getInt();
+            }
+        }
+        char[] words = new char[wordLength];
+        for (int i = 0; i < wordLength; i++) {
+            words[i] = bb.getChar();
+        }
+        byte[] postings = new byte[postingLength];
+        bb.get(postings);
+        String[] emoji = new String[count], names = new String[count];
+        for (int i = 0; i < count; i++) {
+            emoji[i] = readString(bb);
+            names[i] = readString(bb);
+        }
+        return new KeywordIndex(wordStart, words, postingStart, postingCount, postings, emoji, names);
+    }
+
+    private static String readString(ByteBuffer bb) {
+        byte[] bytes = new byte[bb.getInt()];
+        bb.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
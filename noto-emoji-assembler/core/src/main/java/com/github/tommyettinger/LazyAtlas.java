@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * An atlas that only parses its .atlas file up-front, and uploads each page as a Texture the first time a region on
+ * that page is asked for. This suits atlases with many pages where an app only uses some of them, such as the ones
+ * {@link CategoryPacker} writes with one category per page. Like a TextureAtlas, this must be used on the thread that
+ * owns the GL context, since that is where pages get loaded.
+ * <br>
+ * Regions are made the same way {@link com.badlogic.gdx.graphics.g2d.TextureAtlas} makes them, once per name, and are
+ * cached after that, so asking for the same name again returns the same AtlasRegion.
+ */
+public class LazyAtlas implements Disposable {
+    private final TextureAtlasData data;
+    private final ObjectMap<Page, Integer> pageIndices;
+    private final Texture[] textures;
+    private final ObjectMap<String, Region> regions;
+    private final ObjectMap<String, AtlasRegion> made;
+    private int loadedPages;
+
+    /**
+     * Parses an atlas, without loading any of its pages.
+     *
+     * @param packFile an .atlas file, such as {@code atlas-large-pot-color/noto-emoji.atlas}
+     */
+    public LazyAtlas(FileHandle packFile) {
+        this(packFile, null);
+    }
+
+    /**
+     * Parses a deduplicated atlas and its alias table, as written by {@link AliasAtlas#deduplicate(FileHandle)},
+     * without loading any of its pages. Every alias can be looked up like a region name.
+     *
+     * @param packFile  an .atlas file, such as {@code atlas-large-pot-color/noto-emoji-deduped.atlas}
+     * @param aliasFile its alias table, or null if it has none
+     */
+    public LazyAtlas(FileHandle packFile, FileHandle aliasFile) {
+        data = new TextureAtlasData(packFile, packFile.parent(), false);
+        pageIndices = new ObjectMap<>(data.getPages().size);
+        for (int i = 0; i < data.getPages().size; i++) {
+            pageIndices.put(data.getPages().get(i), i);
+        }
+        textures = new Texture[data.getPages().size];
+        regions = new ObjectMap<>(data.getRegions().size);
+        for (Region region : data.getRegions()) {
+            // TextureAtlas.findRegion() gives the first region with a name, so this does too.
+            if (!regions.containsKey(region.name)) regions.put(region.name, region);
+        }
+        if (aliasFile != null) addAliases(aliasFile);
+        made = new ObjectMap<>(64);
+    }
+
+    private void addAliases(FileHandle aliasFile) {
+        try (BufferedReader reader = aliasFile.reader(1 << 14, "UTF8")) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] names = line.split("\t");
+                Region original = regions.get(names[0]);
+                if (original == null) continue;
+                for (int i = 1; i < names.length; i++) {
+                    if (!names[i].isEmpty() && !regions.containsKey(names[i])) regions.put(names[i], original);
+                }
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read aliases from " + aliasFile, e);
+        }
+    }
+
+    /**
+     * Gets the region with the given name, loading its page first if no region on that page was asked for before.
+     *
+     * @param name a region name or alias
+     * @return the region, or null if there is no region with that name
+     */
+    public AtlasRegion findRegion(String name) {
+        AtlasRegion atlasRegion = made.get(name);
+        if (atlasRegion != null) return atlasRegion;
+        Region region = regions.get(name);
+        if (region == null) return null;
+        Texture texture = getTexture(pageIndices.get(region.page));
+        atlasRegion = new AtlasRegion(texture, region.left, region.top,
+                region.rotate ? region.height : region.width, region.rotate ? region.width : region.height);
+        atlasRegion.index = region.index;
+        atlasRegion.name = name;
+        atlasRegion.offsetX = region.offsetX;
+        atlasRegion.offsetY = region.offsetY;
+        atlasRegion.originalHeight = region.originalHeight;
+        atlasRegion.originalWidth = region.originalWidth;
+        atlasRegion.rotate = region.rotate;
+        atlasRegion.degrees = region.degrees;
+        atlasRegion.names = region.names;
+        atlasRegion.values = region.values;
+        if (region.flip) atlasRegion.flip(false, true);
+        made.put(name, atlasRegion);
+        return atlasRegion;
+    }
+
+    /**
+     * @param name a region name or alias
+     * @return true if this atlas has a region with that name; never loads a page
+     */
+    public boolean hasRegion(String name) {
+        return regions.containsKey(name);
+    }
+
+    /**
+     * Gets the texture for a page, loading it if it isn't yet.
+     *
+     * @param pageIndex the page's index, in the order the .atlas file lists them
+     * @return the loaded page
+     */
+    public Texture getTexture(int pageIndex) {
+        Texture texture = textures[pageIndex];
+        if (texture == null) {
+            Page page = data.getPages().get(pageIndex);
+            texture = new Texture(page.textureFile, page.format, page.useMipMaps);
+            texture.setFilter(page.minFilter, page.magFilter);
+            texture.setWrap(page.uWrap, page.vWrap);
+            textures[pageIndex] = texture;
+            loadedPages++;
+        }
+        return texture;
+    }
+
+    /**
+     * @param pageIndex the page's index, in the order the .atlas file lists them
+     * @return true if that page has been loaded
+     */
+    public boolean isLoaded(int pageIndex) {
+        return textures[pageIndex] != null;
+    }
+
+    public int getPageCount() {
+        return textures.length;
+    }
+
+    public int getLoadedPageCount() {
+        return loadedPages;
+    }
+
+    /** Disposes every page that was loaded; regions from this atlas can't be drawn after this. */
+    @Override
+    public void dispose() {
+        for (int i = 0; i < textures.length; i++) {
+            if (textures[i] != null) {
+                textures[i].dispose();
+                textures[i] = null;
+            }
+        }
+        loadedPages = 0;
+        made.clear();
+    }
+}
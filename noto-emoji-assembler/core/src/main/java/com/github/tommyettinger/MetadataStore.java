@@ -0,0 +1,489 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * The emoji metadata that most assembler modes start by parsing from JSON ({@code stripped-to-emoji.json},
+ * {@code names-cldr.json}, {@code aliases.json}, and the categories in {@code noto-emoji-cleaned.json}), compiled into
+ * one binary file that is memory-mapped instead. Every string is stored once, as UTF-8, and is only decoded when asked
+ * for, so opening a store makes almost nothing on the heap. The store keeps a checksum of the JSON files it was
+ * compiled from, so {@link #isCurrent(FileHandle...)} can tell when it needs compiling again.
+ * <br>
+ * There is one record per codename, in the order of {@code stripped-to-emoji.json}, followed by any codenames that only
+ * have aliases. The file is little-endian, and laid out as:
+ * <ol>
+ *     <li>a header of 8 ints: {@link #MAGIC}, {@link #VERSION}, source checksum, record count, alias count, category
+ *     count, bucket bits, and string pool offset;</li>
+ *     <li>per record, {@link #RECORD_INTS} ints: the offset and length in the string pool of the codename, emoji,
+ *     CLDR name, and category, then the first alias and the alias count; a missing string has offset -1;</li>
+ *     <li>per alias, 2 ints: offset and length in the string pool;</li>
+ *     <li>per category entry, 4 ints: the offset and length of an emoji without variation selectors or skin tones,
+ *     then of its category, in the order of {@code noto-emoji-cleaned.json};</li>
+ *     <li>{@code (1 << bucketBits) + 1} ints, where bucket b's codenames start at the first and end before the
+ *     second;</li>
+ *     <li>per record, 2 ints: the hash of its codename and the record, sorted by bucket;</li>
+ *     <li>the string pool.</li>
+ * </ol>
+ * Codenames are hashed with {@link AtlasIndex#hash(CharSequence)}.
+ */
+public class MetadataStore {
+    /** The file name of the store in the assets folder. */
+    public static final String FILE_NAME = "noto-emoji.metadata";
+    /** The JSON files a store is compiled from, in the order their checksum is taken. */
+    public static final String[] SOURCES = {"stripped-to-emoji.json", "names-cldr.json", "aliases.json",
+            "noto-emoji-cleaned.json"};
+    public static final int MAGIC = 0x444D_454E; // "NEMD"
+    public static final int VERSION = 1;
+    public static final int RECORD_INTS = 10;
+
+    private static final int HEADER_BYTES = 8 * 4;
+    private static final String[] NO_ALIASES = new String[0];
+
+    private final ByteBuffer buffer;
+    private final int checksum, recordCount, aliasCount, categoryCount, bucketBits;
+    private final int recordsAt, aliasesAt, categoriesAt, bucketsAt, hashesAt, poolAt;
+
+    /**
+     * Wraps a buffer holding a store. The buffer's byte order is set to little-endian.
+     *
+     * @param buffer the contents of a store, such as from {@link #map(File)}
+     */
+    public MetadataStore(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            throw new GdxRuntimeException("Not a version " + VERSION + " metadata store.");
+        checksum = buffer.getInt(8);
+        recordCount = buffer.getInt(12);
+        aliasCount = buffer.getInt(16);
+        categoryCount = buffer.getInt(20);
+        bucketBits = buffer.getInt(24);
+        poolAt = buffer.getInt(28);
+        recordsAt = HEADER_BYTES;
+        aliasesAt = recordsAt + recordCount * RECORD_INTS * 4;
+        categoriesAt = aliasesAt + aliasCount * 8;
+        bucketsAt = categoriesAt + categoryCount * 16;
+        hashesAt = bucketsAt + ((1 << bucketBits) + 1) * 4;
+    }
+
+    /**
+     * Memory-maps a store, read-only. The mapping stays valid after this returns, even though the file is closed.
+     *
+     * @param file a store on a real file system (not inside a jar or APK)
+     * @return a new MetadataStore backed by the mapped file
+     */
+    public static MetadataStore map(File file) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            return new MetadataStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't map metadata store " + file, e);
+        }
+    }
+
+    /**
+     * Loads a store from any FileHandle, mapping it if it is a local or absolute file, or reading it into memory if it
+     * is something that can't be mapped, like a classpath or Android internal file.
+     *
+     * @param file a store
+     * @return a new MetadataStore
+     */
+    public static MetadataStore load(FileHandle file) {
+        switch (file.type()) {
+            case Local:
+            case Absolute:
+            case External:
+                return map(file.file());
+            default:
+                return new MetadataStore(ByteBuffer.wrap(file.readBytes()));
+        }
+    }
+
+    /**
+     * @param sources the files a store is compiled from, in the order of {@link #SOURCES}
+     * @return the CRC-32 of all their bytes, one file after another
+     */
+    public static int checksum(FileHandle... sources) {
+        CRC32 crc = new CRC32();
+        for (FileHandle source : sources) {
+            crc.update(source.readBytes());
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @param sources the files this store was compiled from, in the order of {@link #SOURCES}
+     * @return true if those files haven't changed since this store was compiled
+     */
+    public boolean isCurrent(FileHandle... sources) {
+        return checksum(sources) == checksum;
+    }
+
+    public int getChecksum() {
+        return checksum;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Finds the record for a codename, without allocating.
+     *
+     * @param codename a codename, such as {@code "emoji_u1f600"}
+     * @return the record index, or -1 if codename isn't in this store
+     */
+    public int find(CharSequence codename) {
+        int h = AtlasIndex.hash(codename);
+        int bucket = bucketBits == 0 ? 0 : h >>> 32 - bucketBits;
+        int end = buffer.getInt(bucketsAt + (bucket + 1) * 4);
+        for (int i = buffer.getInt(bucketsAt + bucket * 4); i < end; i++) {
+            int at = hashesAt + i * 8;
+            if (buffer.getInt(at) == h) {
+                int record = buffer.getInt(at + 4), field = recordsAt + record * RECORD_INTS * 4;
+                if (poolEquals(buffer.getInt(field), buffer.getInt(field + 4), codename)) return record;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares UTF-8 bytes in the string pool with a CharSequence, decoding as it goes so nothing is allocated.
+     */
+    private boolean poolEquals(int offset, int length, CharSequence text) {
+        int c = 0, n = text.length();
+        for (int i = poolAt + offset, end = i + length; i < end; ) {
+            int b = buffer.get(i++) & 0xFF, cp;
+            if (b < 0x80) cp = b;
+            else if (b < 0xE0) cp = (b & 0x1F) << 6 | buffer.get(i++) & 0x3F;
+            else if (b < 0xF0) cp = (b & 0x0F) << 12 | (buffer.get(i++) & 0x3F) << 6 | buffer.get(i++) & 0x3F;
+            else cp = (b & 0x07) << 18 | (buffer.get(i++) & 0x3F) << 12 | (buffer.get(i++) & 0x3F) << 6 | buffer.get(i++) & 0x3F;
+            if (cp >= 0x10000) {
+                if (c + 1 >= n || text.charAt(c) != Character.highSurrogate(cp) || text.charAt(c + 1) != Character.lowSurrogate(cp))
+                    return false;
+                c += 2;
+            } else {
+                if (c >= n || text.charAt(c) != cp) return false;
+                c++;
+            }
+        }
+        return c == n;
+    }
+
+    private String poolString(int offset, int length) {
+        if (offset < 0) return null;
+        byte[] bytes = new byte[length];
+        ByteBuffer dup = buffer.duplicate();
+        dup.position(poolAt + offset);
+        dup.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String recordString(int record, int field) {
+        int at = recordsAt + (record * RECORD_INTS + field * 2) * 4;
+        return poolString(buffer.getInt(at), buffer.getInt(at + 4));
+    }
+
+    private boolean recordHas(int record, int field) {
+        return buffer.getInt(recordsAt + (record * RECORD_INTS + field * 2) * 4) >= 0;
+    }
+
+    public String getCodename(int record) {
+        return recordString(record, 0);
+    }
+
+    /** @return the emoji for a record, or null if its codename isn't in {@code stripped-to-emoji.json} */
+    public String getEmoji(int record) {
+        return recordString(record, 1);
+    }
+
+    /** @return the CLDR name for a record, or null if its codename isn't in {@code names-cldr.json} */
+    public String getName(int record) {
+        return recordString(record, 2);
+    }
+
+    /** @return the category of a record's emoji, or null if it isn't in {@code noto-emoji-cleaned.json} */
+    public String getCategory(int record) {
+        return recordString(record, 3);
+    }
+
+    public int getAliasCount(int record) {
+        return buffer.getInt(recordsAt + (record * RECORD_INTS + 9) * 4);
+    }
+
+    /**
+     * @param record a record index
+     * @return a new array of the record's aliases, or an empty array if it has none
+     */
+    public String[] getAliases(int record) {
+        int count = getAliasCount(record);
+        if (count == 0) return NO_ALIASES;
+        int first = buffer.getInt(recordsAt + (record * RECORD_INTS + 8) * 4);
+        String[] aliases = new String[count];
+        for (int i = 0; i < count; i++) {
+            int at = aliasesAt + (first + i) * 8;
+            aliases[i] = poolString(buffer.getInt(at), buffer.getInt(at + 4));
+        }
+        return aliases;
+    }
+
+    /**
+     * Gets the categories of {@code noto-emoji-cleaned.json}, keyed by each emoji without variation selectors or skin
+     * tones, in the JSON's order. This is small, so it is copied into a new map.
+     *
+     * @return a new map from emoji to category
+     */
+    public LinkedHashMap<String, String> categories() {
+        LinkedHashMap<String, String> categories = new LinkedHashMap<>(categoryCount * 2);
+        for (int i = 0, at = categoriesAt; i < categoryCount; i++, at += 16) {
+            categories.put(poolString(buffer.getInt(at), buffer.getInt(at + 4)),
+                    poolString(buffer.getInt(at + 8), buffer.getInt(at + 12)));
+        }
+        return categories;
+    }
+
+    /** @return a read-only view of {@code stripped-to-emoji.json}, decoding each value when it is asked for */
+    public Map<String, String> emojiMap() {
+        return new View<>(1) {
+            @Override
+            String value(int record) {
+                return getEmoji(record);
+            }
+        };
+    }
+
+    /** @return a read-only view of {@code names-cldr.json}, decoding each value when it is asked for */
+    public Map<String, String> nameMap() {
+        return new View<>(2) {
+            @Override
+            String value(int record) {
+                return getName(record);
+            }
+        };
+    }
+
+    /** @return a read-only view of {@code aliases.json}, decoding each value when it is asked for */
+    public Map<String, String[]> aliasMap() {
+        return new View<>(-1) {
+            @Override
+            boolean has(int record) {
+                return getAliasCount(record) > 0;
+            }
+
+            @Override
+            String[] value(int record) {
+                return getAliases(record);
+            }
+        };
+    }
+
+    /**
+     * A read-only Map from codename to one field of the records that have it, iterating in record order.
+     */
+    private abstract class View<V> extends AbstractMap<String, V> {
+        private final int field;
+        private int size = -1;
+
+        View(int field) {
+            this.field = field;
+        }
+
+        boolean has(int record) {
+            return recordHas(record, field);
+        }
+
+        abstract V value(int record);
+
+        @Override
+        public V get(Object key) {
+            if (!(key instanceof CharSequence)) return null;
+            int record = find((CharSequence) key);
+            return record < 0 || !has(record) ? null : value(record);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (!(key instanceof CharSequence)) return false;
+            int record = find((CharSequence) key);
+            return record >= 0 && has(record);
+        }
+
+        @Override
+        public int size() {
+            if (size < 0) {
+                int count = 0;
+                for (int r = 0; r < recordCount; r++) {
+                    if (has(r)) count++;
+                }
+                size = count;
+            }
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return View.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, V>> iterator() {
+                    return new Iterator<>() {
+                        private int next = advance(0);
+
+                        private int advance(int from) {
+                            while (from < recordCount && !has(from)) from++;
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < recordCount;
+                        }
+
+                        @Override
+                        public Entry<String, V> next() {
+                            if (next >= recordCount) throw new NoSuchElementException();
+                            int record = next;
+                            next = advance(next + 1);
+                            return new SimpleImmutableEntry<>(getCodename(record), value(record));
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    /**
+     * Compiles a store from already-parsed metadata.
+     *
+     * @param strippedToEmoji  {@code stripped-to-emoji.json}
+     * @param names            {@code names-cldr.json}
+     * @param aliases          {@code aliases.json}
+     * @param recordCategories the category of each codename's emoji, for those that have one
+     * @param categories       the categories of {@code noto-emoji-cleaned.json}, keyed by each emoji without variation
+     *                         selectors or skin tones, in the JSON's order
+     * @param checksum         the {@link #checksum(FileHandle...)} of the source files
+     * @param out              where to write the store; will be overwritten
+     */
+    public static void write(Map<String, String> strippedToEmoji, Map<String, String> names,
+                             Map<String, String[]> aliases, Map<String, String> recordCategories,
+                             Map<String, String> categories, int checksum, FileHandle out) {
+        LinkedHashSet<String> codenames = new LinkedHashSet<>(strippedToEmoji.keySet());
+        codenames.addAll(names.keySet());
+        codenames.addAll(aliases.keySet());
+        int recordCount = codenames.size();
+        Pool pool = new Pool();
+        int[] records = new int[recordCount * RECORD_INTS];
+        int[] aliasRefs = new int[64];
+        int aliasCount = 0, r = 0;
+        for (String codename : codenames) {
+            int at = r * RECORD_INTS;
+            pool.ref(codename, records, at);
+            pool.ref(strippedToEmoji.get(codename), records, at + 2);
+            pool.ref(names.get(codename), records, at + 4);
+            pool.ref(recordCategories.get(codename), records, at + 6);
+            String[] list = aliases.get(codename);
+            records[at + 8] = aliasCount;
+            records[at + 9] = list == null ? 0 : list.length;
+            if (list != null) {
+                for (String alias : list) {
+                    if ((aliasCount + 1) * 2 > aliasRefs.length) aliasRefs = Arrays.copyOf(aliasRefs, aliasRefs.length * 2);
+                    pool.ref(alias, aliasRefs, aliasCount++ * 2);
+                }
+            }
+            r++;
+        }
+        int[] categoryRefs = new int[categories.size() * 4];
+        int c = 0;
+        for (Map.Entry<String, String> category : categories.entrySet()) {
+            pool.ref(category.getKey(), categoryRefs, c);
+            pool.ref(category.getValue(), categoryRefs, c + 2);
+            c += 4;
+        }
+
+        int bucketBits = Math.max(0, 31 - Integer.numberOfLeadingZeros(Math.max(1, recordCount >>> 1)));
+        int bucketCount = 1 << bucketBits;
+        long[] sortable = new long[recordCount];
+        r = 0;
+        for (String codename : codenames) {
+            // Flipping the sign bit makes signed order match unsigned order, so sorting orders by bucket.
+            sortable[r] = (long) (AtlasIndex.hash(codename) ^ Integer.MIN_VALUE) << 32 | r;
+            r++;
+        }
+        Arrays.sort(sortable);
+        int[] bucketStarts = new int[bucketCount + 1];
+        for (long s : sortable) {
+            int h = (int) (s >>> 32) ^ Integer.MIN_VALUE;
+            bucketStarts[(bucketBits == 0 ? 0 : h >>> 32 - bucketBits) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+
+        int poolAt = HEADER_BYTES + recordCount * RECORD_INTS * 4 + aliasCount * 8 + categories.size() * 16
+                + (bucketCount + 1) * 4 + recordCount * 8;
+        ByteBuffer bb = ByteBuffer.allocate(poolAt + pool.bytes.size()).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(MAGIC).putInt(VERSION).putInt(checksum).putInt(recordCount).putInt(aliasCount)
+                .putInt(categories.size()).putInt(bucketBits).putInt(poolAt);
+        for (int v : records) {
+            bb.putInt(v);
+        }
+        for (int i = 0; i < aliasCount * 2; i++) {
+            bb.putInt(aliasRefs[i]);
+        }
+        for (int v : categoryRefs) {
+            bb.putInt(v);
+        }
+        for (int start : bucketStarts) {
+            bb.putInt(start);
+        }
+        for (long s : sortable) {
+            bb.putInt((int) (s >>> 32) ^ Integer.MIN_VALUE).putInt((int) s);
+        }
+        bb.put(pool.bytes.toByteArray());
+        out.writeBytes(bb.array(), false);
+    }
+
+    /** The string pool being written, where each distinct string is stored once. */
+    private static final class Pool {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 18);
+        final ObjectIntMap<String> offsets = new ObjectIntMap<>(16384);
+
+        /** Puts text's offset and length in refs at at and at + 1, adding it if it's new; null gets offset -1. */
+        void ref(String text, int[] refs, int at) {
+            if (text == null) {
+                refs[at] = -1;
+                refs[at + 1] = 0;
+                return;
+            }
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            int offset = offsets.get(text, -1);
+            if (offset < 0) {
+                offsets.put(text, offset = bytes.size());
+                bytes.write(utf8, 0, utf8.length);
+            }
+            refs[at] = offset;
+            refs[at + 1] = utf8.length;
+        }
+    }
+}
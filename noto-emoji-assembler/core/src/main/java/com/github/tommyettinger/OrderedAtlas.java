@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Lays out a packed atlas again so its images go in rows, in a given order, such as the order an emoji picker shows
+ * them in. TexturePacker sorts images by size before packing them, so emoji that are drawn next to each other usually
+ * end up far apart on the page; once they are in rows in the picker's order, drawing a category's grid samples one band
+ * of the page instead of the whole thing, which GPU texture caches (and CPU caches, for software rendering) handle
+ * much better.
+ * <br>
+ * Images shared by several region names (from TexturePacker's alias setting) move together, placed where the first of
+ * their names in the order goes. Padding and page size limits come from the same settings the atlas was packed with.
+ */
+public final class OrderedAtlas {
+    private OrderedAtlas() {
+    }
+
+    /** One distinct image on a page, with every region that uses it. */
+    private static final class Image {
+        final Array<Region> regions = new Array<>(false, 4, Region.class);
+        int page, left, top, width, height, rank = Integer.MAX_VALUE, index;
+    }
+
+    /**
+     * Numbers every name of each entry in the given order, so entries that come first are placed first. A name that
+     * appears more than once keeps the first number it got.
+     *
+     * @param entries renamed emoji in the order they should be laid out, such as category order
+     * @return a map from each emoji, name, and alias to its place in the order
+     */
+    public static ObjectIntMap<String> rank(Iterable<EmojiRenamer.Entry> entries) {
+        ObjectIntMap<String> order = new ObjectIntMap<>(16384);
+        int rank = 0;
+        for (EmojiRenamer.Entry entry : entries) {
+            putIfAbsent(order, entry.emoji, rank);
+            putIfAbsent(order, entry.name, rank);
+            for (String alias : entry.aliases) {
+                putIfAbsent(order, alias, rank);
+            }
+            rank++;
+        }
+        return order;
+    }
+
+    private static void putIfAbsent(ObjectIntMap<String> order, String key, int value) {
+        if (!order.containsKey(key)) order.put(key, value);
+    }
+
+    /**
+     * Moves every image of an atlas's regions into rows in the given order, changing its pages and regions in place
+     * without touching any images. Use {@link #reorder(FileHandle, TexturePacker.Settings, ObjectIntMap)} to also move
+     * the pixels.
+     *
+     * @param data     a parsed atlas
+     * @param settings the settings it was packed with, for padding, page size limits, and rounding of page sizes
+     * @param order    where each region name goes; images with no name in it go last, in their current order
+     */
+    public static void arrange(TextureAtlasData data, TexturePacker.Settings settings, ObjectIntMap<String> order) {
+        arrange(data, settings, images(data, order));
+    }
+
+    private static ArrayList<Image> images(TextureAtlasData data, ObjectIntMap<String> order) {
+        Array<Page> pages = data.getPages();
+        LongMap<Image> byPosition = new LongMap<>(4096);
+        ArrayList<Image> images = new ArrayList<>(4096);
+        for (Region region : data.getRegions()) {
+            int page = pages.indexOf(region.page, true);
+            long key = (long) page << 42 | (long) region.left << 21 | region.top;
+            Image image = byPosition.get(key);
+            if (image == null) {
+                image = new Image();
+                boolean rotated = region.degrees == 90 || region.degrees == 270;
+                image.page = page;
+                image.left = region.left;
+                image.top = region.top;
+                image.width = rotated ? region.height : region.width;
+                image.height = rotated ? region.width : region.height;
+                image.index = images.size();
+                byPosition.put(key, image);
+                images.add(image);
+            }
+            image.regions.add(region);
+            image.rank = Math.min(image.rank, order.get(region.name, Integer.MAX_VALUE));
+        }
+        // Stable, so unranked images keep the order the atlas lists them in.
+        images.sort(Comparator.comparingInt(image -> image.rank));
+        return images;
+    }
+
+    private static void arrange(TextureAtlasData data, TexturePacker.Settings settings, ArrayList<Image> images) {
+        int edgeX = settings.edgePadding ? settings.paddingX : 0, edgeY = settings.edgePadding ? settings.paddingY : 0;
+        int limitX = settings.maxWidth - edgeX, limitY = settings.maxHeight - edgeY;
+        Page template = data.getPages().first();
+        String baseName = template.textureFile.nameWithoutExtension();
+        Array<Page> pages = new Array<>(Page.class);
+        int x = edgeX, y = edgeY, rowHeight = 0, right = 0, bottom = 0;
+        for (Image image : images) {
+            if (image.width > limitX - edgeX || image.height > limitY - edgeY)
+                throw new GdxRuntimeException("Image of " + image.regions.first().name + " doesn't fit on a page.");
+            if (x + image.width > limitX) {
+                x = edgeX;
+                y += rowHeight + settings.paddingY;
+                rowHeight = 0;
+            }
+            if (pages.size == 0 || y + image.height > limitY) {
+                if (pages.size > 0) finishPage(pages.peek(), right + edgeX, bottom + edgeY, settings);
+                Page page = new Page();
+                page.textureFile = template.textureFile.sibling(baseName + (pages.size == 0 ? "" : pages.size + 1)
+                        + "." + template.textureFile.extension());
+                page.format = template.format;
+                page.useMipMaps = template.useMipMaps;
+                page.minFilter = template.minFilter;
+                page.magFilter = template.magFilter;
+                page.uWrap = template.uWrap;
+                page.vWrap = template.vWrap;
+                page.pma = template.pma;
+                pages.add(page);
+                x = edgeX;
+                y = edgeY;
+                rowHeight = right = bottom = 0;
+            }
+            image.page = pages.size - 1;
+            for (Region region : image.regions) {
+                region.page = pages.peek();
+                region.left = x;
+                region.top = y;
+            }
+            image.left = x;
+            image.top = y;
+            x += image.width + settings.paddingX;
+            rowHeight = Math.max(rowHeight, image.height);
+            right = Math.max(right, x - settings.paddingX);
+            bottom = Math.max(bottom, y + image.height);
+        }
+        finishPage(pages.peek(), right + edgeX, bottom + edgeY, settings);
+
+        // Regions stay in the order the atlas listed them, grouped by their new pages.
+        Array<Region> regions = data.getRegions();
+        regions.sort(Comparator.comparingInt(region -> pages.indexOf(region.page, true)));
+        data.getPages().clear();
+        data.getPages().addAll(pages);
+    }
+
+    /** Sizes a page to fit what was placed on it, the way TexturePacker would round and limit it. */
+    private static void finishPage(Page page, int width, int height, TexturePacker.Settings settings) {
+        width = Math.max(width, settings.minWidth);
+        height = Math.max(height, settings.minHeight);
+        if (settings.pot) {
+            width = MathUtils.nextPowerOfTwo(width);
+            height = MathUtils.nextPowerOfTwo(height);
+        }
+        if (settings.multipleOfFour) {
+            width = width + 3 & -4;
+            height = height + 3 & -4;
+        }
+        if (settings.square) width = height = Math.max(width, height);
+        page.width = width;
+        page.height = height;
+    }
+
+    /**
+     * Lays out an atlas again in the given order, rewriting its .atlas file and page images in place. Pages it no
+     * longer needs are deleted; any more it needs are named the way TexturePacker names them.
+     *
+     * @param atlasFile an .atlas file whose pages are in the same folder
+     * @param settings  the settings it was packed with, for padding, page size limits, and rounding of page sizes
+     * @param order     where each region name goes, as from {@link #rank(Iterable)}; images with no name in it go last
+     */
+    public static void reorder(FileHandle atlasFile, TexturePacker.Settings settings, ObjectIntMap<String> order) {
+        TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+        Array<FileHandle> oldFiles = new Array<>(FileHandle.class);
+        for (Page page : data.getPages()) {
+            oldFiles.add(page.textureFile);
+        }
+        ArrayList<Image> images = images(data, order);
+        int[][] from = new int[images.size()][];
+        for (Image image : images) {
+            from[image.index] = new int[]{image.page, image.left, image.top};
+        }
+        arrange(data, settings, images);
+
+        Pixmap[] sources = new Pixmap[oldFiles.size];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new Pixmap(oldFiles.get(i));
+        }
+        int amountX = settings.duplicatePadding ? settings.paddingX / 2 : 0;
+        int amountY = settings.duplicatePadding ? settings.paddingY / 2 : 0;
+        try {
+            for (int p = 0; p < data.getPages().size; p++) {
+                Page page = data.getPages().get(p);
+                Pixmap pixmap = new Pixmap((int) page.width, (int) page.height, Pixmap.Format.RGBA8888);
+                pixmap.setBlending(Pixmap.Blending.None);
+                for (Image image : images) {
+                    if (image.page != p) continue;
+                    int[] old = from[image.index];
+                    Pixmap source = sources[old[0]];
+                    int sx = old[1], sy = old[2], w = image.width, h = image.height, x = image.left, y = image.top;
+                    pixmap.drawPixmap(source, sx, sy, w, h, x, y, w, h);
+                    // Like TexturePacker's duplicatePadding, the edge pixels are repeated into the padding.
+                    for (int i = 1; i <= amountX; i++) {
+                        pixmap.drawPixmap(source, sx, sy, 1, h, x - i, y, 1, h);
+                        pixmap.drawPixmap(source, sx + w - 1, sy, 1, h, x + w - 1 + i, y, 1, h);
+                    }
+                    for (int j = 1; j <= amountY; j++) {
+                        pixmap.drawPixmap(source, sx, sy, w, 1, x, y - j, w, 1);
+                        pixmap.drawPixmap(source, sx, sy + h - 1, w, 1, x, y + h - 1 + j, w, 1);
+                        for (int i = 1; i <= amountX; i++) {
+                            pixmap.drawPixel(x - i, y - j, source.getPixel(sx, sy));
+                            pixmap.drawPixel(x + w - 1 + i, y - j, source.getPixel(sx + w - 1, sy));
+                            pixmap.drawPixel(x - i, y + h - 1 + j, source.getPixel(sx, sy + h - 1));
+                            pixmap.drawPixel(x + w - 1 + i, y + h - 1 + j, source.getPixel(sx + w - 1, sy + h - 1));
+                        }
+                    }
+                }
+                try {
+                    PixmapIO.PNG png = new PixmapIO.PNG();
+                    png.setFlipY(false);
+                    png.write(page.textureFile, pixmap);
+                } catch (IOException e) {
+                    throw new GdxRuntimeException("Couldn't write " + page.textureFile, e);
+                } finally {
+                    pixmap.dispose();
+                }
+            }
+        } finally {
+            for (Pixmap source : sources) {
+                source.dispose();
+            }
+        }
+        for (FileHandle old : oldFiles) {
+            boolean kept = false;
+            for (Page page : data.getPages()) {
+                kept |= page.textureFile.equals(old);
+            }
+            if (!kept) old.delete();
+        }
+        AtlasWriter.write(data.getPages(), data.getRegions(), atlasFile);
+    }
+}
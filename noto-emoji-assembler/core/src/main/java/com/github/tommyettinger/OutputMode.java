@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+/**
+ * How an image gets placed at each of its renamed paths. Linking avoids writing the same PNG bytes once per emoji,
+ * name, and alias; if a link can't be made (such as across drives, or on a file system without link support), the
+ * file is copied instead.
+ * <br>
+ * Every mode skips a target that is already up-to-date: a link is up-to-date if it already points at the source, and a
+ * copy is up-to-date if it has the same size and last-modified time as the source. Copies keep the source's
+ * last-modified time so that later runs can tell they are unchanged.
+ */
+public enum OutputMode {
+    /** Always copies the bytes; the slowest option, but the only one that never shares files with the raw folders. */
+    COPY,
+    /** Creates a hard link to the source with {@link Files#createLink(Path, Path)}, copying if that fails. */
+    HARD_LINK,
+    /** Creates a relative symbolic link to the source, copying if that fails. */
+    SYMBOLIC_LINK;
+
+    /**
+     * Places {@code source} at {@code target}, replacing any out-of-date file there. The parent directory of target
+     * must already exist.
+     *
+     * @param source an existing file
+     * @param target where source should appear; may already exist
+     * @return true if anything was written, or false if target was already up-to-date
+     */
+    public boolean place(FileHandle source, FileHandle target) {
+        Path src = source.file().toPath(), dst = target.file().toPath();
+        try {
+            if (upToDate(src, dst)) return false;
+            Files.deleteIfExists(dst);
+            if (this != COPY) {
+                try {
+                    if (this == HARD_LINK)
+                        Files.createLink(dst, src);
+                    else
+                        Files.createSymbolicLink(dst, dst.toAbsolutePath().getParent().relativize(src.toAbsolutePath()));
+                    return true;
+                } catch (IOException | UnsupportedOperationException | SecurityException ignored) {
+                    // fall through and copy instead
+                }
+            }
+            Files.copy(src, dst, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            return true;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't place " + source + " at " + target, e);
+        }
+    }
+
+    private boolean upToDate(Path src, Path dst) throws IOException {
+        if (!Files.exists(dst, LinkOption.NOFOLLOW_LINKS)) return false;
+        if (Files.isSymbolicLink(dst))
+            return this == SYMBOLIC_LINK && Files.exists(dst) && Files.isSameFile(src, dst);
+        if (this == SYMBOLIC_LINK) return false;
+        if (this == HARD_LINK && Files.isSameFile(src, dst)) return true;
+        return Files.size(src) == Files.size(dst)
+                && Files.getLastModifiedTime(src).equals(Files.getLastModifiedTime(dst));
+    }
+}
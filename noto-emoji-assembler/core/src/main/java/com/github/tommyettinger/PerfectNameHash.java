@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A minimal perfect hash from every name, alias, and emoji in an atlas to the index of its region, using hash and
+ * displace: keys are split into buckets by one 32-bit hash, and each bucket gets a seed chosen at build time so that
+ * its keys land on free slots of a table exactly as big as the key count. A lookup hashes the key once, reads its
+ * bucket's seed, and reads the one slot that seed points to, which holds the key's position, length, and value
+ * together, so it is O(1) and never allocates. Since any CharSequence hashes to some slot, the key stored there is
+ * compared so that unknown keys are reported as missing. Unlike an ObjectMap of Strings, this doesn't need a String
+ * to look up, so finding a name inside a larger text doesn't allocate a substring and hash it again.
+ * <br>
+ * Region indices are in the order regions first appear in the full atlas, which is the same order
+ * {@link AliasAtlas#deduplicate(FileHandle)} and {@link AtlasIndex} use.
+ * <br>
+ * The file written by {@link #save(FileHandle)} is little-endian: {@link #MAGIC}, {@link #VERSION}, key count, bucket
+ * count, total key chars, hash salt, then the seed of every bucket, then every slot as a long (its key's start in the
+ * chars, its key's length, and its value), and finally all keys end-to-end as UTF-16 chars.
+ */
+public class PerfectNameHash {
+    public static final String EXTENSION = ".namehash";
+    public static final int MAGIC = 0x4E45_4D50; // "NEMP"
+    public static final int VERSION = 2;
+
+    /** Average keys per bucket; higher makes the seed table smaller but building slower. */
+    private static final int KEYS_PER_BUCKET = 4;
+
+    /** How many bits of a slot hold its key's length; the value is in the bits below those. */
+    private static final int LENGTH_BITS = 12, VALUE_BITS = 20;
+
+    private final int salt;
+    private final int[] seeds;
+    private final long[] slots;
+    private final char[] keys;
+
+    private PerfectNameHash(int salt, int[] seeds, long[] slots, char[] keys) {
+        this.salt = salt;
+        this.seeds = seeds;
+        this.slots = slots;
+        this.keys = keys;
+    }
+
+    /**
+     * Builds a perfect hash from keys to values.
+     *
+     * @param keys   distinct keys; duplicates can't be told apart and will throw an exception
+     * @param values the value for each key, at the same index
+     * @return a new PerfectNameHash
+     */
+    public static PerfectNameHash build(String[] keys, int[] values) {
+        int n = keys.length;
+        int bucketCount = Math.max(1, (n + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET);
+        // Two keys with the same hash could never be split up, so pick a salt that gives every key its own hash.
+        int salt = 0;
+        int[] hashes = new int[n];
+        for (; ; salt++) {
+            for (int i = 0; i < n; i++) {
+                hashes[i] = hash(keys[i], 0, keys[i].length(), salt);
+            }
+            int[] sorted = hashes.clone();
+            Arrays.sort(sorted);
+            boolean distinct = true;
+            for (int i = 1; i < n && distinct; i++) {
+                distinct = sorted[i] != sorted[i - 1];
+            }
+            if (distinct) break;
+            if (salt == 255)
+                throw new GdxRuntimeException("Couldn't give every key its own hash; are there duplicate keys?");
+        }
+        int[] bucketSizes = new int[bucketCount];
+        for (int i = 0; i < n; i++) {
+            bucketSizes[bucketOf(hashes[i], bucketCount)]++;
+        }
+        // Key indices grouped by bucket.
+        int[] bucketStarts = new int[bucketCount + 1];
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStarts[b + 1] = bucketStarts[b] + bucketSizes[b];
+        }
+        int[] grouped = new int[n], fill = Arrays.copyOf(bucketStarts, bucketCount);
+        for (int i = 0; i < n; i++) {
+            grouped[fill[bucketOf(hashes[i], bucketCount)]++] = i;
+        }
+        // Largest buckets first, while the table is still mostly empty.
+        long[] order = new long[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[b] = (long) (Integer.MAX_VALUE - bucketSizes[b]) << 32 | b;
+        }
+        Arrays.sort(order);
+
+        int[] seeds = new int[bucketCount];
+        int[] slotOf = new int[n];
+        boolean[] taken = new boolean[n];
+        int[] tried = new int[KEYS_PER_BUCKET * 8];
+        for (long o : order) {
+            int b = (int) o, size = bucketSizes[b];
+            if (size == 0) continue;
+            if (tried.length < size) tried = new int[size];
+            int seed = 0;
+            search:
+            for (; ; seed++) {
+                if (seed < 0)
+                    throw new GdxRuntimeException("Couldn't find a seed; are there duplicate keys?");
+                for (int k = 0; k < size; k++) {
+                    int slot = slotOf(hashes[grouped[bucketStarts[b] + k]], seed, n);
+                    if (taken[slot]) continue search;
+                    for (int j = 0; j < k; j++) {
+                        if (tried[j] == slot) continue search;
+                    }
+                    tried[k] = slot;
+                }
+                break;
+            }
+            seeds[b] = seed;
+            for (int k = 0; k < size; k++) {
+                taken[tried[k]] = true;
+                slotOf[grouped[bucketStarts[b] + k]] = tried[k];
+            }
+        }
+
+        int[] keyOfSlot = new int[n];
+        for (int i = 0; i < n; i++) {
+            keyOfSlot[slotOf[i]] = i;
+        }
+        long[] slots = new long[n];
+        int start = 0;
+        for (int s = 0; s < n; s++) {
+            int k = keyOfSlot[s], length = keys[k].length();
+            if (length >>> LENGTH_BITS != 0 || values[k] >>> VALUE_BITS != 0)
+                throw new GdxRuntimeException("Key " + keys[k] + " is too long, or its value " + values[k] + " too big.");
+            slots[s] = (long) start << 32 | (long) length << VALUE_BITS | values[k];
+            start += length;
+        }
+        char[] chars = new char[start];
+        for (int s = 0; s < n; s++) {
+            String key = keys[keyOfSlot[s]];
+            key.getChars(0, key.length(), chars, (int) (slots[s] >>> 32));
+        }
+        return new PerfectNameHash(salt, seeds, slots, chars);
+    }
+
+    /**
+     * Builds a perfect hash from every region name in a full atlas to the index of its distinct region.
+     *
+     * @param data atlas data from a full .atlas file, which lists every alias as its own region
+     * @return a new PerfectNameHash
+     */
+    public static PerfectNameHash build(TextureAtlasData data) {
+        Array<Region> regions = data.getRegions();
+        ObjectIntMap<AliasAtlas.RegionKey> unique = new ObjectIntMap<>(regions.size);
+        String[] keys = new String[regions.size];
+        int[] values = new int[regions.size];
+        for (int i = 0; i < regions.size; i++) {
+            Region region = regions.get(i);
+            AliasAtlas.RegionKey key = new AliasAtlas.RegionKey(region);
+            int r = unique.get(key, -1);
+            if (r < 0) unique.put(key, r = unique.size);
+            keys[i] = region.name;
+            values[i] = r;
+        }
+        return build(keys, values);
+    }
+
+    /**
+     * Writes the perfect hash for a full .atlas file beside it, with the same name and the extension
+     * {@link #EXTENSION}.
+     *
+     * @param atlasFile a full .atlas file, such as {@code atlas-mid-color/noto-emoji.atlas}
+     * @return the file that was written
+     */
+    public static FileHandle write(FileHandle atlasFile) {
+        FileHandle out = atlasFile.sibling(atlasFile.nameWithoutExtension() + EXTENSION);
+        build(new TextureAtlasData(atlasFile, atlasFile.parent(), false)).save(out);
+        return out;
+    }
+
+    static int hash(CharSequence key, int start, int end, int salt) {
+        int h = 0x9E3779B9 ^ salt << 16 ^ end - start;
+        for (int i = start; i < end; i++) {
+            h = (h ^ key.charAt(i)) * 0x01000193;
+        }
+        return h ^ h >>> 15;
+    }
+
+    private static int bucketOf(int hash, int bucketCount) {
+        return (int) ((hash & 0xFFFFFFFFL) * bucketCount >>> 32);
+    }
+
+    private static int slotOf(int hash, int seed, int n) {
+        int x = (hash ^ seed) * 0x9E3779B9;
+        x ^= x >>> 16;
+        return (int) ((x & 0xFFFFFFFFL) * n >>> 32);
+    }
+
+    /**
+     * Looks up the value for a key, without allocating.
+     *
+     * @param key a name, alias, or emoji
+     * @return the region index for key, or -1 if key isn't present
+     */
+    public int get(CharSequence key) {
+        return get(key, 0, key.length());
+    }
+
+    /**
+     * Looks up the value for part of a CharSequence, without allocating; this can look up the {@code thumbs_up} in
+     * {@code "nice :thumbs_up:"} without making a substring.
+     *
+     * @param text  any CharSequence
+     * @param start the first char of the key, inclusive
+     * @param end   the last char of the key, exclusive
+     * @return the region index for the key, or -1 if it isn't present
+     */
+    public int get(CharSequence text, int start, int end) {
+        int n = slots.length;
+        if (n == 0) return -1;
+        int h = hash(text, start, end, salt);
+        long slot = slots[slotOf(h, seeds[bucketOf(h, seeds.length)], n)];
+        int keyStart = (int) (slot >>> 32), len = (int) slot >>> VALUE_BITS & (1 << LENGTH_BITS) - 1;
+        if (len != end - start) return -1;
+        for (int i = 0; i < len; i++) {
+            if (keys[keyStart + i] != text.charAt(start + i)) return -1;
+        }
+        return (int) slot & (1 << VALUE_BITS) - 1;
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * Saves this to a binary file that {@link #load(FileHandle)} can read.
+     *
+     * @param file where to write; will be overwritten
+     */
+    public void save(FileHandle file) {
+        int n = slots.length;
+        ByteBuffer bb = ByteBuffer.allocate(24 + seeds.length * 4 + n * 8 + keys.length * 2)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(seeds.length).putInt(keys.length).putInt(salt);
+        bb.asIntBuffer().put(seeds);
+        bb.position(bb.position() + seeds.length * 4);
+        bb.asLongBuffer().put(slots);
+        bb.position(bb.position() + n * 8);
+        bb.asCharBuffer().put(keys);
+        file.writeBytes(bb.array(), false);
+    }
+
+    /**
+     * Loads a perfect hash saved by {@link #save(FileHandle)} or {@link #write(FileHandle)}.
+     *
+     * @param file a {@link #EXTENSION} file
+     * @return a new PerfectNameHash
+     */
+    public static PerfectNameHash load(FileHandle file) {
+        ByteBuffer bb = ByteBuffer.wrap(file.readBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        if (bb.getInt() != MAGIC || bb.getInt() != VERSION)
+            throw new GdxRuntimeException("Not a version " + VERSION + " perfect name hash: " + file);
+        int n = bb.getInt(), bucketCount = bb.getInt(), charCount = bb.getInt(), salt = bb.getInt();
+        int[] seeds = new int[bucketCount];
+        long[] slots = new long[n];
+        char[] keys = new char[charCount];
+        bb.asIntBuffer().get(seeds);
+        bb.position(bb.position() + bucketCount * 4);
+        bb.asLongBuffer().get(slots);
+        bb.position(bb.position() + n * 8);
+        bb.asCharBuffer().get(keys);
+        return new PerfectNameHash(salt, seeds, slots, keys);
+    }
+}
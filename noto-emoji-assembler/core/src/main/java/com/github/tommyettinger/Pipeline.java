@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Runs any selection of named {@link Stage}s in one JVM. Each stage declares the artifacts it reads and writes, which
+ * are usually file names in the assets folder, but can be any name that links stages together, like {@code renamed}
+ * for the renamed image folders. A selected stage waits for the selected stages that write its inputs, wherever they
+ * appear in the selection. Stages that write the same artifact never run at the same time, but one after another in
+ * the order they were selected; a stage selected between two of them that reads the artifact runs between them too.
+ * Stages that don't depend on each other run at the same time. Inputs that no selected stage writes are read from
+ * disk, as they would be if that stage ran alone.
+ * <br>
+ * Intermediate data is handed from stage to stage through one shared {@link Artifacts}.
+ */
+public class Pipeline {
+    /** One step of the assembler, such as renaming images or packing atlases. */
+    public static final class Stage {
+        public final String name;
+        public final String[] inputs;
+        public final String[] outputs;
+        private final Consumer<Artifacts> action;
+
+        /**
+         * @param name    what this stage is selected by, such as {@code PACK_ATLAS}
+         * @param inputs  names of the artifacts this reads
+         * @param outputs names of the artifacts this writes
+         * @param action  does the work, reading and writing through the given Artifacts where it can
+         */
+        public Stage(String name, String[] inputs, String[] outputs, Consumer<Artifacts> action) {
+            this.name = name;
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.action = action;
+        }
+    }
+
+    private final LinkedHashMap<String, Stage> stages = new LinkedHashMap<>(32);
+    public final Artifacts artifacts = new Artifacts();
+
+    /** How many stages can run at once; defaults to the number of cores. */
+    public int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Makes a stage available to {@link #run(String...)}; a stage with the same name is replaced.
+     *
+     * @return this, for chaining
+     */
+    public Pipeline add(String name, String[] inputs, String[] outputs, Consumer<Artifacts> action) {
+        stages.put(name, new Stage(name, inputs, outputs, action));
+        return this;
+    }
+
+    /** @return the names of every stage that can be run, in the order they were added */
+    public Set<String> names() {
+        return stages.keySet();
+    }
+
+    /**
+     * Runs the named stages and waits for all of them to finish. Names are case-insensitive, and a name given twice
+     * only runs once.
+     *
+     * @param names the stages to run, in any order
+     */
+    public void run(String... names) {
+        LinkedHashSet<Stage> unique = new LinkedHashSet<>(names.length);
+        for (String name : names) {
+            Stage stage = stages.get(name.toUpperCase(Locale.ROOT));
+            if (stage == null)
+                throw new GdxRuntimeException("Unknown stage " + name + "; the stages are " + stages.keySet());
+            unique.add(stage);
+        }
+        ArrayList<Stage> selected = new ArrayList<>(unique);
+        HashMap<Stage, LinkedHashSet<Stage>> dependencies = dependencies(selected);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, selected.size())));
+        HashMap<Stage, CompletableFuture<Void>> futures = new HashMap<>(selected.size());
+        try {
+            for (Stage stage : selected) {
+                schedule(stage, dependencies, futures, new HashSet<>(), executor);
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new GdxRuntimeException(cause);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Finds which selected stages each selected stage has to wait for. Stages that write the same artifact run one
+     * after another, in the order they were selected. A stage that only reads an artifact waits for the last writer
+     * selected before it, and the next writer waits for it in turn; if no writer was selected before it, it waits for
+     * all of them.
+     */
+    private static HashMap<Stage, LinkedHashSet<Stage>> dependencies(ArrayList<Stage> selected) {
+        HashMap<Stage, LinkedHashSet<Stage>> dependencies = new HashMap<>(selected.size());
+        LinkedHashSet<String> artifacts = new LinkedHashSet<>();
+        for (Stage stage : selected) {
+            dependencies.put(stage, new LinkedHashSet<>());
+            artifacts.addAll(Arrays.asList(stage.inputs));
+            artifacts.addAll(Arrays.asList(stage.outputs));
+        }
+        for (String artifact : artifacts) {
+            ArrayList<Stage> writers = new ArrayList<>(2);
+            for (Stage stage : selected) {
+                if (Arrays.asList(stage.outputs).contains(artifact)) writers.add(stage);
+            }
+            if (writers.isEmpty()) continue;
+            for (int i = 1; i < writers.size(); i++) {
+                dependencies.get(writers.get(i)).add(writers.get(i - 1));
+            }
+            for (Stage reader : selected) {
+                if (!Arrays.asList(reader.inputs).contains(artifact) || writers.contains(reader)) continue;
+                int position = selected.indexOf(reader);
+                Stage before = null, after = null;
+                for (Stage writer : writers) {
+                    if (selected.indexOf(writer) < position) before = writer;
+                    else if (after == null) after = writer;
+                }
+                if (before == null) {
+                    dependencies.get(reader).add(writers.get(writers.size() - 1));
+                } else {
+                    dependencies.get(reader).add(before);
+                    if (after != null) dependencies.get(after).add(reader);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private CompletableFuture<Void> schedule(Stage stage, HashMap<Stage, LinkedHashSet<Stage>> dependencies,
+                                             HashMap<Stage, CompletableFuture<Void>> futures,
+                                             HashSet<Stage> visiting, ExecutorService executor) {
+        CompletableFuture<Void> existing = futures.get(stage);
+        if (existing != null) return existing;
+        if (!visiting.add(stage))
+            throw new GdxRuntimeException("Stage " + stage.name + " depends on itself through its inputs.");
+        ArrayList<CompletableFuture<Void>> waits = new ArrayList<>();
+        for (Stage dependency : dependencies.get(stage)) {
+            waits.add(schedule(dependency, dependencies, futures, visiting, executor));
+        }
+        visiting.remove(stage);
+        CompletableFuture<Void> future = CompletableFuture.allOf(waits.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(() -> {
+                    long start = System.currentTimeMillis();
+                    System.out.println("Starting " + stage.name + "...");
+                    stage.action.accept(artifacts);
+                    System.out.println("Finished " + stage.name + " in " + (System.currentTimeMillis() - start) + " ms.");
+                }, executor);
+        futures.put(stage, future);
+        return future;
+    }
+}
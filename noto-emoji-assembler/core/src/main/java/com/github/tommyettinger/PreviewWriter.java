@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the HTML preview of every emoji as one page per category, plus an index page that links to each category.
+ * Each emoji is shown either as its own lazily-loaded image from {@code TYPE/name/}, with its size given up-front so
+ * the page doesn't jump around while loading, or, if {@link #spriteAtlas} is set, as a cell of one sprite sheet per
+ * category. Sprite sheets are cut out of the atlas pages using the atlas' region coordinates, so each category page
+ * needs only one image request.
+ * <br>
+ * For the "color" type, the index page is {@code index.html} and category pages are named like
+ * {@code smileys-and-emotion.html}; any other type gets its name as a prefix, as in {@code black.html} and
+ * {@code black-smileys-and-emotion.html}.
+ */
+public class PreviewWriter {
+    /** One emoji to show. */
+    public static final class Item {
+        public final String emoji;
+        public final String name;
+        public final String[] aliases;
+        public final String category;
+
+        public Item(String emoji, String name, String[] aliases, String category) {
+            this.emoji = emoji;
+            this.name = name;
+            this.aliases = aliases;
+            this.category = category;
+        }
+    }
+
+    /** The folder the pages are written to, which should hold {@code styles.css} and the {@code TYPE/name/} images. */
+    public final FileHandle outputDir;
+    /** The emoji type, such as "color" or "black", which is also the folder the images are in. */
+    public final String type;
+    /** The width and height in pixels each emoji is shown at; defaults to 72, the size of the large atlas. */
+    public int cellSize = 72;
+    /**
+     * If non-null, the .atlas file to cut sprite sheets from, and every category gets a sprite sheet in
+     * {@code TYPE/sprites/}; if null (the default), each emoji is its own image.
+     */
+    public FileHandle spriteAtlas;
+    /** How many cells wide each sprite sheet is. */
+    public int spriteColumns = 16;
+
+    /**
+     * @param outputDir where to write the pages, usually the {@code docs/} folder
+     * @param type      the emoji type, such as "color"
+     */
+    public PreviewWriter(FileHandle outputDir, String type) {
+        this.outputDir = outputDir;
+        this.type = type;
+    }
+
+    /**
+     * Writes the index page, one page per category, and the sprite sheets if {@link #spriteAtlas} is set.
+     *
+     * @param items every emoji to show; categories appear in the order they are first seen here
+     */
+    public void write(List<Item> items) {
+        LinkedHashMap<String, ArrayList<Item>> categories = new LinkedHashMap<>(16);
+        for (Item item : items) {
+            categories.computeIfAbsent(item.category, k -> new ArrayList<>(256)).add(item);
+        }
+        ArrayList<String> names = new ArrayList<>(categories.keySet());
+        String prefix = "color".equals(type) ? "" : type + "-";
+
+        StringBuilder sb = new StringBuilder(4096);
+        header(sb, "Noto-Emoji Preview");
+        sb.append("<p>This shows all emoji supported by " +
+                "<a href=\"https://github.com/tommyettinger/noto-emoji-atlas\">NotoEmojiAtlas</a>, " +
+                "along with the names each can be looked up by.</p>\n");
+        sb.append("<p>The atlases and all image assets are licensed under the " +
+                "<a href=\"https://github.com/tommyettinger/noto-emoji-atlas/blob/main/LICENSE.txt\">OFL 1.1</a>.</p>\n");
+        sb.append("<p>Thanks to the entire <a href=\"https://github.com/googlefonts/noto-emoji/\">Noto Emoji project</a>!</p>\n");
+        sb.append("<ul class=\"categories\">\n");
+        for (String category : names) {
+            sb.append("\t<li><a href=\"").append(prefix).append(slug(category)).append(".html\">")
+                    .append(escape(category)).append("</a> (").append(categories.get(category).size())
+                    .append(")</li>\n");
+        }
+        sb.append("</ul>\n</body>\n</html>\n");
+        outputDir.child("color".equals(type) ? "index.html" : type + ".html").writeString(sb.toString(), false, "UTF8");
+
+        ObjectMap<String, int[]> cells = spriteAtlas == null ? null : writeSprites(categories);
+        for (int c = 0; c < names.size(); c++) {
+            String category = names.get(c), slug = slug(category);
+            sb.setLength(0);
+            header(sb, "Noto-Emoji Preview: " + category);
+            sb.append("<p><a href=\"").append("color".equals(type) ? "index" : type).append(".html\">All categories</a>");
+            if (c > 0)
+                sb.append(" | <a href=\"").append(prefix).append(slug(names.get(c - 1))).append(".html\">Previous: ")
+                        .append(escape(names.get(c - 1))).append("</a>");
+            if (c + 1 < names.size())
+                sb.append(" | <a href=\"").append(prefix).append(slug(names.get(c + 1))).append(".html\">Next: ")
+                        .append(escape(names.get(c + 1))).append("</a>");
+            sb.append("</p>\n");
+            if (cells != null) {
+                sb.append("<style>.sprite { display: inline-block; width: ").append(cellSize).append("px; height: ")
+                        .append(cellSize).append("px; background: url(\"").append(type).append("/sprites/")
+                        .append(slug).append(".png\") no-repeat; }</style>\n");
+            }
+            sb.append("<div class=\"box\">\n");
+            for (Item item : categories.get(category)) {
+                sb.append("\t<div class=\"item\">\n");
+                if (cells == null) {
+                    sb.append("\t\t<img src=\"").append(type).append("/name/").append(item.name).append(".png\" alt=\"")
+                            .append(item.name).append("\" width=\"").append(cellSize).append("\" height=\"")
+                            .append(cellSize).append("\" loading=\"lazy\" decoding=\"async\" />\n");
+                } else {
+                    int[] cell = cells.get(item.emoji);
+                    sb.append("\t\t<div class=\"sprite\" role=\"img\" aria-label=\"").append(item.name)
+                            .append("\" style=\"background-position: -").append(cell[0]).append("px -")
+                            .append(cell[1]).append("px\"></div>\n");
+                }
+                if (!item.emoji.isEmpty()) sb.append("\t\t<p>").append(item.emoji).append("</p>\n");
+                sb.append("\t\t<p>").append(item.name).append("</p>\n");
+                for (String alias : item.aliases) {
+                    sb.append("\t\t<p>").append(alias).append("</p>\n");
+                }
+                sb.append("\t</div>\n");
+            }
+            sb.append("</div>\n</body>\n</html>\n");
+            outputDir.child(prefix + slug + ".html").writeString(sb.toString(), false, "UTF8");
+        }
+        System.out.println("Wrote a preview of " + items.size() + " emoji in " + names.size() + " categories"
+                + (cells == null ? "." : ", with sprite sheets."));
+    }
+
+    private static void header(StringBuilder sb, String title) {
+        sb.append("""
+                <!doctype html>
+                <html>
+                <head>
+                \t<title>""").append(escape(title)).append("""
+                </title>
+                \t<meta http-equiv="content-type" content="text/html; charset=UTF-8">
+                \t<meta id="gameViewport" name="viewport" content="width=device-width initial-scale=1">
+                \t<link href="styles.css" rel="stylesheet" type="text/css">
+                </head>
+
+                """);
+        sb.append("<body>\n");
+        sb.append("<h1>").append(escape(title)).append("</h1>\n");
+    }
+
+    /**
+     * Cuts each category's emoji out of the atlas pages into one sprite sheet per category.
+     *
+     * @return the x and y of each emoji's cell in its category's sheet
+     */
+    private ObjectMap<String, int[]> writeSprites(LinkedHashMap<String, ArrayList<Item>> categories) {
+        TextureAtlasData data = new TextureAtlasData(spriteAtlas, spriteAtlas.parent(), false);
+        ObjectMap<String, Region> regions = new ObjectMap<>(data.getRegions().size);
+        for (Region region : data.getRegions()) {
+            regions.put(region.name, region);
+        }
+        ObjectMap<Page, Pixmap> pages = new ObjectMap<>(data.getPages().size);
+        ObjectMap<String, int[]> cells = new ObjectMap<>(regions.size);
+        FileHandle spriteDir = outputDir.child(type + "/sprites");
+        spriteDir.mkdirs();
+        try {
+            for (Page page : data.getPages()) {
+                pages.put(page, new Pixmap(page.textureFile));
+            }
+            for (Map.Entry<String, ArrayList<Item>> category : categories.entrySet()) {
+                ArrayList<Item> items = category.getValue();
+                int columns = Math.min(spriteColumns, items.size()), rows = (items.size() + columns - 1) / columns;
+                Pixmap sheet = new Pixmap(columns * cellSize, rows * cellSize, Pixmap.Format.RGBA8888);
+                sheet.setBlending(Pixmap.Blending.None);
+                for (int i = 0; i < items.size(); i++) {
+                    Item item = items.get(i);
+                    Region region = regions.get(item.emoji);
+                    if (region == null) region = regions.get(item.name);
+                    if (region == null)
+                        throw new GdxRuntimeException("No region in " + spriteAtlas + " for " + item.name);
+                    if (region.degrees != 0)
+                        throw new GdxRuntimeException("Rotated regions can't be used for sprites: " + region.name);
+                    int x = i % columns * cellSize, y = i / columns * cellSize;
+                    // offsetY counts up from the bottom of the original image, but Pixmap y counts down.
+                    sheet.drawPixmap(pages.get(region.page),
+                            x + (int) region.offsetX, y + region.originalHeight - region.height - (int) region.offsetY,
+                            region.left, region.top, region.width, region.height);
+                    cells.put(item.emoji, new int[]{x, y});
+                }
+                PixmapIO.writePNG(spriteDir.child(slug(category.getKey()) + ".png"), sheet);
+                sheet.dispose();
+            }
+        } finally {
+            for (Pixmap pixmap : pages.values()) {
+                pixmap.dispose();
+            }
+        }
+        return cells;
+    }
+
+    /** Makes a category name safe for a file name, as in {@code smileys-and-emotion} for "Smileys & Emotion". */
+    static String slug(String category) {
+        return category.toLowerCase(Locale.ROOT).replace("&", "and")
+                .replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Page;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongMap;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.*;
+
+/**
+ * Writes a 16-bit copy of an atlas, with every page reduced to 4 bits per channel and an .atlas file that declares
+ * {@code format: RGBA4444}, so a {@link com.badlogic.gdx.graphics.g2d.TextureAtlas} loaded from it takes half the video
+ * memory of the original. The reduced pages are still stored as PNG, but every channel is a multiple of 17, so the
+ * conversion libGDX does on load loses nothing more.
+ * <br>
+ * Each region is dithered on its own with serpentine Floyd-Steinberg error diffusion, so no error leaks from one emoji
+ * into its neighbor on the page. Small emoji are mostly flat areas between sharp outlines, where full-strength
+ * diffusion leaves crawling patterns, so only {@link #ditherStrength} of the error is carried. Color error is scaled by
+ * the pixel's alpha, since color matters less the more transparent a pixel is, and fully transparent pixels are
+ * written as transparent black.
+ * <br>
+ * Beside the atlas goes a report of how close each region stays to the original, as tab-separated PSNR values for
+ * color (premultiplied by alpha, so invisible changes don't count), for alpha, and for color after a small blur.
+ * Regions that share one image are dithered once, and reported once, under the first of their names.
+ */
+public class Rgba4444Atlas {
+    /** Added to the atlas and page names (before the extension) for the 16-bit copies. */
+    public static final String SUFFIX = "-rgba4444";
+    /** The extension of the PSNR report, which is named like the atlas it describes. */
+    public static final String REPORT_EXTENSION = ".tsv";
+
+    /** How much of each pixel's error is carried to its neighbors, from 0 (plain rounding) to 1. */
+    public float ditherStrength = 0.75f;
+    /** How many threads dither at once; defaults to the number of cores. */
+    public int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Reduces every page of an atlas, writing {@code NAME-rgba4444.png} beside each page, the atlas that uses them as
+     * {@code NAME-rgba4444.atlas}, and the report as {@code NAME-rgba4444.tsv}.
+     *
+     * @param atlasFile an .atlas file whose pages are in the same folder
+     * @return the .atlas file that uses the reduced pages
+     */
+    public FileHandle reduce(FileHandle atlasFile) {
+        long start = System.currentTimeMillis();
+        TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+        String base = atlasFile.nameWithoutExtension() + SUFFIX;
+        // Regions that share a rectangle (the aliases TexturePacker writes for duplicate images) are dithered once.
+        ArrayList<Region> images = new ArrayList<>(data.getRegions().size);
+        LongMap<Region> byPosition = new LongMap<>(data.getRegions().size);
+        for (Region region : data.getRegions()) {
+            long key = (long) data.getPages().indexOf(region.page, true) << 42 | (long) region.left << 21 | region.top;
+            if (byPosition.containsKey(key)) continue;
+            byPosition.put(key, region);
+            images.add(region);
+        }
+        double[][] quality = new double[images.size()][];
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            for (Page page : data.getPages()) {
+                Pixmap pixmap = new Pixmap(page.textureFile);
+                int width = pixmap.getWidth(), height = pixmap.getHeight();
+                int[] source = new int[width * height];
+                ByteBuffer pixels = pixmap.getPixels().duplicate().order(ByteOrder.BIG_ENDIAN);
+                pixels.position(0);
+                if (pixmap.getFormat() == Pixmap.Format.RGBA8888) {
+                    pixels.asIntBuffer().get(source);
+                } else {
+                    for (int y = 0, i = 0; y < height; y++) {
+                        for (int x = 0; x < width; x++) {
+                            source[i++] = pixmap.getPixel(x, y);
+                        }
+                    }
+                }
+                pixmap.dispose();
+                // Anything outside every region is only rounded.
+                int[] result = new int[source.length];
+                for (int i = 0; i < source.length; i++) {
+                    result[i] = round(source[i]);
+                }
+                ArrayList<Future<?>> jobs = new ArrayList<>();
+                for (int r = 0; r < images.size(); r++) {
+                    Region region = images.get(r);
+                    if (region.page != page) continue;
+                    int index = r;
+                    jobs.add(executor.submit(() -> {
+                        boolean rotated = region.degrees == 90 || region.degrees == 270;
+                        int w = rotated ? region.height : region.width, h = rotated ? region.width : region.height;
+                        dither(source, result, width, region.left, region.top, w, h);
+                        quality[index] = psnr(source, result, width, region.left, region.top, w, h);
+                    }));
+                }
+                for (Future<?> job : jobs) {
+                    job.get();
+                }
+
+                Pixmap reduced = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+                ByteBuffer out = reduced.getPixels().duplicate().order(ByteOrder.BIG_ENDIAN);
+                out.position(0);
+                out.asIntBuffer().put(result);
+                FileHandle reducedFile = page.textureFile.sibling(page.textureFile.nameWithoutExtension() + SUFFIX + ".png");
+                try {
+                    PixmapIO.PNG png = new PixmapIO.PNG();
+                    png.setFlipY(false);
+                    png.write(reducedFile, reduced);
+                } catch (IOException e) {
+                    throw new GdxRuntimeException("Couldn't write " + reducedFile, e);
+                } finally {
+                    reduced.dispose();
+                }
+                page.textureFile = reducedFile;
+                page.format = Pixmap.Format.RGBA4444;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while reducing " + atlasFile, e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        FileHandle output = atlasFile.sibling(base + ".atlas");
+        AtlasWriter.write(data.getPages(), data.getRegions(), output);
+        double worst = Double.POSITIVE_INFINITY, total = 0.0, blurred = 0.0;
+        try (Writer writer = atlasFile.sibling(base + REPORT_EXTENSION).writer(false, "UTF8")) {
+            writer.write("region\tcolor_psnr\talpha_psnr\tblurred_color_psnr\n");
+            for (int r = 0; r < quality.length; r++) {
+                double[] q = quality[r];
+                writer.write(images.get(r).name + "\t" + format(q[0]) + "\t" + format(q[1]) + "\t" + format(q[2])
+                        + "\n");
+                worst = Math.min(worst, q[0]);
+                total += Math.min(q[0], 99.0);
+                blurred += Math.min(q[2], 99.0);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write the report for " + atlasFile, e);
+        }
+        System.out.println("Reduced " + atlasFile.name() + " to RGBA4444 in " + (System.currentTimeMillis() - start)
+                + " ms; color PSNR is " + format(total / Math.max(1, quality.length)) + " dB on average and "
+                + format(worst) + " dB at worst, " + format(blurred / Math.max(1, quality.length))
+                + " dB on average when blurred.");
+        return output;
+    }
+
+    /** Rounds each channel of an RGBA8888 color to the nearest multiple of 17. */
+    private static int round(int color) {
+        if ((color & 255) < 9) return 0;
+        return quantize(color >>> 24) << 24 | quantize(color >>> 16 & 255) << 16
+                | quantize(color >>> 8 & 255) << 8 | quantize(color & 255);
+    }
+
+    /** Rounds a channel value from 0 to 255 (or a little past either end) to the nearest multiple of 17. */
+    private static int quantize(float value) {
+        return Math.min(Math.max(Math.round(value / 17f), 0), 15) * 17;
+    }
+
+    /**
+     * Dithers the w by h rectangle at x, y of source into the same place in result, carrying error only within it.
+     */
+    private void dither(int[] source, int[] result, int width, int x, int y, int w, int h) {
+        // Two rows of error for each channel, with a spare cell at both ends so neighbors need no bounds checks.
+        float[][] current = new float[4][w + 2], next = new float[4][w + 2];
+        float s = ditherStrength / 16f;
+        for (int row = 0; row < h; row++) {
+            boolean reverse = (row & 1) == 1;
+            int step = reverse ? -1 : 1;
+            for (int i = 0, col = reverse ? w - 1 : 0; i < w; i++, col += step) {
+                int at = (y + row) * width + x + col, color = source[at], e = col + 1;
+                float alpha = (color & 255) + current[3][e];
+                int a = quantize(alpha);
+                float alphaError = alpha - a;
+                if (a == 0) {
+                    result[at] = 0;
+                    spread(current[3], next[3], e, step, alphaError * s);
+                    continue;
+                }
+                int quantized = a;
+                float weight = (color & 255) / 255f;
+                for (int c = 0; c < 3; c++) {
+                    float value = (color >>> 24 - (c << 3) & 255) + current[c][e];
+                    int q = quantize(value);
+                    quantized |= q << 24 - (c << 3);
+                    spread(current[c], next[c], e, step, (value - q) * weight * s);
+                }
+                spread(current[3], next[3], e, step, alphaError * s);
+                result[at] = quantized;
+            }
+            float[][] swap = current;
+            current = next;
+            next = swap;
+            for (float[] channel : next) {
+                Arrays.fill(channel, 0f);
+            }
+        }
+    }
+
+    /** Carries error (already divided by 16) to the Floyd-Steinberg neighbors of e, going in the direction step. */
+    private static void spread(float[] current, float[] next, int e, int step, float error) {
+        current[e + step] += error * 7f;
+        next[e - step] += error * 3f;
+        next[e] += error * 5f;
+        next[e + step] += error;
+    }
+
+    /**
+     * Compares the w by h rectangle at x, y of result to source. Besides the plain color and alpha PSNR, this measures
+     * color PSNR after blurring both with a 3x3 box, which is closer to how a dithered emoji looks at its real size,
+     * where the eye averages neighboring pixels; plain PSNR counts dither noise as error even when it hides banding.
+     *
+     * @return the color PSNR (premultiplied by alpha), the alpha PSNR, and the blurred color PSNR; any can be infinite
+     * if there is no difference
+     */
+    private static double[] psnr(int[] source, int[] result, int width, int x, int y, int w, int h) {
+        // Premultiplied color differences, three per pixel.
+        double[] diff = new double[w * h * 3];
+        double colorError = 0.0, alphaError = 0.0, blurredError = 0.0;
+        for (int row = 0, i = 0; row < h; row++) {
+            for (int at = (y + row) * width + x, end = at + w; at < end; at++) {
+                int s = source[at], r = result[at], sa = s & 255, ra = r & 255;
+                alphaError += (sa - ra) * (sa - ra);
+                for (int shift = 24; shift > 0; shift -= 8) {
+                    double d = ((s >>> shift & 255) * sa - (r >>> shift & 255) * ra) / 255.0;
+                    diff[i++] = d;
+                    colorError += d * d;
+                }
+            }
+        }
+        for (int row = 0; row < h; row++) {
+            for (int col = 0; col < w; col++) {
+                for (int c = 0; c < 3; c++) {
+                    double sum = 0.0;
+                    int count = 0;
+                    for (int r = Math.max(0, row - 1); r <= Math.min(h - 1, row + 1); r++) {
+                        for (int k = Math.max(0, col - 1); k <= Math.min(w - 1, col + 1); k++) {
+                            sum += diff[(r * w + k) * 3 + c];
+                            count++;
+                        }
+                    }
+                    sum /= count;
+                    blurredError += sum * sum;
+                }
+            }
+        }
+        int count = Math.max(1, w * h);
+        return new double[]{toPsnr(colorError / (3 * count)), toPsnr(alphaError / count),
+                toPsnr(blurredError / (3 * count))};
+    }
+
+    private static double toPsnr(double meanSquaredError) {
+        return meanSquaredError == 0.0 ? Double.POSITIVE_INFINITY : 10.0 * Math.log10(255.0 * 255.0 / meanSquaredError);
+    }
+
+    private static String format(double value) {
+        return Double.isInfinite(value) ? "inf" : String.format(Locale.ROOT, "%.2f", value);
+    }
+}
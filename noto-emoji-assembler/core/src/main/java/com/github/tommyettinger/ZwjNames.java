@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2022 Tommy Ettinger.
+ * The parent project is
+ * https://github.com/tommyettinger/noto-emoji-atlas
+ */
+
+package com.github.tommyettinger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Looks up the CLDR name of a ZWJ sequence emoji, such as "family, man, boy" for 👨‍👦. The table is read from
+ * {@code zwj-emoji-to-name.txt} the first time {@link #instance()} is called, so modes that never need ZWJ names never
+ * pay to load it.
+ * <br>
+ * That file has one {@code map.put("emoji", "name");} line per sequence, which is what the regex in {@link Main}'s
+ * documentation produces from {@code emoji-zwj-sequences.txt}. Rather than a HashMap, the keys are stored sorted and
+ * packed end-to-end in one char array, and found by binary search; lookups don't allocate.
+ */
+public final class ZwjNames {
+    private static final class Holder {
+        static final ZwjNames INSTANCE = load(Gdx.files.internal("zwj-emoji-to-name.txt"));
+    }
+
+    /**
+     * Gets the shared ZwjNames, loading it from {@code zwj-emoji-to-name.txt} in the internal files if this is the
+     * first call.
+     *
+     * @return the shared, immutable ZwjNames
+     */
+    public static ZwjNames instance() {
+        return Holder.INSTANCE;
+    }
+
+    /** All keys, in sorted order, end-to-end. */
+    private final char[] keys;
+    /** Key i occupies {@code keys[starts[i]]} up to (not including) {@code keys[starts[i+1]]}. */
+    private final int[] starts;
+    private final String[] names;
+
+    private ZwjNames(char[] keys, int[] starts, String[] names) {
+        this.keys = keys;
+        this.starts = starts;
+        this.names = names;
+    }
+
+    /**
+     * Reads a table in the {@code map.put("emoji", "name");} format. Lines that don't have two quoted strings are
+     * ignored. If an emoji appears more than once, the last name given for it wins, as it would with a Map.
+     *
+     * @param file a text file in the format of {@code zwj-emoji-to-name.txt}
+     * @return a new ZwjNames
+     */
+    public static ZwjNames load(FileHandle file) {
+        ArrayList<String[]> pairs = new ArrayList<>(1500);
+        try (BufferedReader reader = file.reader(1 << 14, "UTF8")) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int a = line.indexOf('"'), b = line.indexOf('"', a + 1),
+                        c = line.indexOf('"', b + 1), d = line.lastIndexOf('"');
+                if (a < 0 || b < 0 || c < 0 || d <= c) continue;
+                pairs.add(new String[]{line.substring(a + 1, b), line.substring(c + 1, d)});
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read ZWJ names from " + file, e);
+        }
+        // A stable sort keeps duplicates in file order, so the last of each run is the one to keep.
+        pairs.sort((x, y) -> x[0].compareTo(y[0]));
+        int count = 0, length = 0;
+        for (int i = 0, n = pairs.size(); i < n; i++) {
+            if (i + 1 < n && pairs.get(i)[0].equals(pairs.get(i + 1)[0])) continue;
+            pairs.set(count++, pairs.get(i));
+            length += pairs.get(i)[0].length();
+        }
+        char[] keys = new char[length];
+        int[] starts = new int[count + 1];
+        String[] names = new String[count];
+        for (int i = 0, pos = 0; i < count; i++) {
+            String key = pairs.get(i)[0];
+            key.getChars(0, key.length(), keys, pos);
+            starts[i] = pos;
+            pos += key.length();
+            names[i] = pairs.get(i)[1];
+        }
+        starts[count] = length;
+        return new ZwjNames(keys, starts, names);
+    }
+
+    /**
+     * Gets the name for a ZWJ sequence emoji, or null if it isn't a known ZWJ sequence.
+     *
+     * @param emoji an emoji string, such as {@code "👨‍👦"}
+     * @return the CLDR name of emoji, or null if it has none here
+     */
+    public String get(CharSequence emoji) {
+        int index = indexOf(emoji);
+        return index < 0 ? null : names[index];
+    }
+
+    public boolean containsKey(CharSequence emoji) {
+        return indexOf(emoji) >= 0;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Finds the sorted position of emoji, or a negative number if it isn't present.
+     *
+     * @param emoji an emoji string
+     * @return the index of emoji in sorted order, or a negative number if it isn't present
+     */
+    public int indexOf(CharSequence emoji) {
+        int lo = 0, hi = names.length - 1;
+        while (lo <= hi) {
+            int mid = lo + hi >>> 1;
+            int cmp = compareKey(mid, emoji);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    /** Compares key {@code index} to {@code other} by chars, as {@link String#compareTo(String)} would. */
+    private int compareKey(int index, CharSequence other) {
+        int start = starts[index], len = starts[index + 1] - start, otherLen = other.length();
+        for (int i = 0, n = Math.min(len, otherLen); i < n; i++) {
+            int diff = keys[start + i] - other.charAt(i);
+            if (diff != 0) return diff;
+        }
+        return len - otherLen;
+    }
+
+    @Override
+    public String toString() {
+        return "ZwjNames{" + names.length + " sequences, " + keys.length + " key chars}";
+    }
+
+    /**
+     * Gets a copy of every emoji key, in sorted order; mostly useful for building other tables from this one.
+     *
+     * @return a new array of every ZWJ sequence this knows
+     */
+    public String[] keys() {
+        String[] out = new String[names.length];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = String.valueOf(keys, starts[i], starts[i + 1] - starts[i]);
+        }
+        return out;
+    }
+
+    /**
+     * Gets the name at a sorted index, as returned by {@link #indexOf(CharSequence)}.
+     *
+     * @param index a non-negative index less than {@link #size()}
+     * @return the name at that index
+     */
+    public String nameAt(int index) {
+        return names[index];
+    }
+}
@@ -11,15 +11,18 @@ import com.badlogic.gdx.backends.headless.HeadlessApplication;
 import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
 import com.github.tommyettinger.Main;
 
-/** Launches the headless application. Can be converted into a utilities project or a server application. */
+/**
+ * Launches the headless application. Any arguments are the names of {@link Main#pipeline()} stages to run, such as
+ * {@code MODIFY_CLDR EMOJI_ALL PACK_ATLAS}; with no arguments, {@link Main#MODE} is run.
+ */
 public class HeadlessLauncher {
 	public static void main(String[] args) {
-		createApplication();
+		createApplication(args);
 	}
 
-	private static Application createApplication() {
+	private static Application createApplication(String[] args) {
 		// Note: you can use a custom ApplicationListener implementation for the headless project instead of Main.
-		return new HeadlessApplication(new Main(), getDefaultConfiguration());
+		return new HeadlessApplication(new Main(args), getDefaultConfiguration());
 	}
 
 	private static HeadlessApplicationConfiguration getDefaultConfiguration() {